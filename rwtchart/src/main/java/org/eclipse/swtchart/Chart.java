@@ -37,6 +37,7 @@ import org.eclipse.swtchart.internal.Legend;
 import org.eclipse.swtchart.internal.PlotArea;
 import org.eclipse.swtchart.internal.Title;
 import org.eclipse.swtchart.internal.axis.AxisSet;
+import org.eclipse.swtchart.internal.compress.CompressCache;
 import org.eclipse.swtchart.internal.series.SeriesSet;
 
 /**
@@ -44,6 +45,15 @@ import org.eclipse.swtchart.internal.series.SeriesSet;
  */
 public class Chart extends Canvas implements Listener {
 
+	/** the update compressing the series data again */
+	public static final int UPDATE_DATA = 1 << 0;
+	/** the update of the stack and riser data */
+	public static final int UPDATE_STACK = 1 << 1;
+	/** the update of the layout of chart elements */
+	public static final int UPDATE_LAYOUT = 1 << 2;
+	/** the redraw of the chart */
+	public static final int UPDATE_PAINT = 1 << 3;
+
 	/** translucent areas flag */
 	protected boolean translucent = true;
 	/** the title */
@@ -58,8 +68,24 @@ public class Chart extends Canvas implements Listener {
 	protected int orientation;
 	/** the state indicating if compressing series is enabled */
 	protected boolean compressEnabled;
+	/** the state indicating if series are compressed in the background */
+	protected boolean asyncCompressEnabled;
+	/** the maximum memory of the compression cache of each series in bytes */
+	protected long compressCacheSize = CompressCache.DEFAULT_MAX_BYTES;
 	/** the state indicating if the update of chart appearance is suspended */
 	protected boolean updateSuspended;
+	/** the state indicating if updates are coalesced and processed once per frame */
+	protected boolean updateCoalescingEnabled;
+	/** the maximum number of coalesced updates per second, or 0 if unlimited */
+	protected int maxFramesPerSecond;
+	/** the updates waiting to be processed */
+	private int pendingUpdates;
+	/** the state indicating if processing the pending updates is scheduled */
+	private boolean updateScheduled;
+	/** the state indicating if the pending updates are being processed */
+	private boolean processingUpdates;
+	/** the time of the last processing of the pending updates in nanoseconds */
+	private long lastUpdateTime;
    /** show/hide multipliers */
    protected boolean useMultipliers = true;
 	/** the set of plots */
@@ -283,6 +309,77 @@ public class Chart extends Canvas implements Listener {
 		return compressEnabled;
 	}
 
+	/**
+	 * Enables compressing series in the background. When enabled, a change of
+	 * the plot area size or of the axis ranges compresses all series in
+	 * parallel on a worker pool instead of on the UI thread, and the chart is
+	 * redrawn with the new points once all of them are done. Until then the
+	 * previously compressed points are drawn. Series whose data have changed
+	 * are still compressed immediately. By default, it is disabled.
+	 * 
+	 * @param enabled
+	 *            true if enabling compressing series in the background
+	 */
+	public void enableAsyncCompress(boolean enabled) {
+
+		asyncCompressEnabled = enabled;
+	}
+
+	/**
+	 * Gets the state indicating if series are compressed in the background.
+	 * 
+	 * @return true if series are compressed in the background
+	 */
+	public boolean isAsyncCompressEnabled() {
+
+		return asyncCompressEnabled;
+	}
+
+	/**
+	 * Sets the maximum memory of the compression cache of each series. The
+	 * cache keeps the compressed points of recently shown ranges, so that
+	 * zooming or panning back to them does not compress the series again.
+	 * 
+	 * @param bytes
+	 *            the maximum memory in bytes, or 0 to disable the cache
+	 */
+	public void setCompressCacheSize(long bytes) {
+
+		compressCacheSize = Math.max(0, bytes);
+	}
+
+	/**
+	 * Gets the maximum memory of the compression cache of each series.
+	 * 
+	 * @return the maximum memory in bytes
+	 */
+	public long getCompressCacheSize() {
+
+		return compressCacheSize;
+	}
+
+	/**
+	 * Gets the number of compressions of all series which have been served
+	 * from the compression cache.
+	 * 
+	 * @return the number of cache hits
+	 */
+	public long getCompressCacheHitCount() {
+
+		return seriesSet.getCompressCacheHitCount();
+	}
+
+	/**
+	 * Gets the number of compressions of all series which have not been
+	 * served from the compression cache.
+	 * 
+	 * @return the number of cache misses
+	 */
+	public long getCompressCacheMissCount() {
+
+		return seriesSet.getCompressCacheMissCount();
+	}
+
    /**
     * @return the translucent
     */
@@ -358,13 +455,160 @@ public class Chart extends Canvas implements Listener {
 		return updateSuspended;
 	}
 
+	/**
+	 * Enables coalescing the updates of chart appearance. When enabled, changes
+	 * of the chart model which require updating the stack and riser data,
+	 * compressing series, relayouting or redrawing the chart only record the
+	 * required updates, which are processed once on the next frame. Unlike
+	 * {@link #suspendUpdate(boolean)}, nothing has to be resumed afterwards. By
+	 * default, it is disabled and the updates are processed immediately.
+	 * <p>
+	 * Pending updates are processed before the plot area is painted and when
+	 * axis ranges are adjusted. {@link #flushUpdates()} processes them on
+	 * demand, e.g. before reading pixel coordinates of series.
+	 * 
+	 * @param enabled
+	 *            true if coalescing the updates of chart appearance
+	 */
+	public void enableUpdateCoalescing(boolean enabled) {
+
+		if(updateCoalescingEnabled == enabled) {
+			return;
+		}
+		updateCoalescingEnabled = enabled;
+		if(!enabled) {
+			flushUpdates();
+		}
+	}
+
+	/**
+	 * Gets the state indicating if the updates of chart appearance are
+	 * coalesced.
+	 * 
+	 * @return true if the updates of chart appearance are coalesced
+	 */
+	public boolean isUpdateCoalescingEnabled() {
+
+		return updateCoalescingEnabled;
+	}
+
+	/**
+	 * Sets the maximum number of times per second the coalesced updates are
+	 * processed, which keeps data sources changing the chart at a high rate
+	 * from relayouting and redrawing it more often than needed.
+	 * 
+	 * @param framesPerSecond
+	 *            the maximum number of frames per second, or 0 if unlimited
+	 */
+	public void setMaxFramesPerSecond(int framesPerSecond) {
+
+		maxFramesPerSecond = Math.max(0, framesPerSecond);
+	}
+
+	/**
+	 * Gets the maximum number of times per second the coalesced updates are
+	 * processed.
+	 * 
+	 * @return the maximum number of frames per second, or 0 if unlimited
+	 */
+	public int getMaxFramesPerSecond() {
+
+		return maxFramesPerSecond;
+	}
+
+	/**
+	 * Gets the state indicating if updates are currently deferred to the next
+	 * frame instead of being processed immediately.
+	 * 
+	 * @return true if updates are deferred
+	 */
+	public boolean isUpdateDeferred() {
+
+		return updateCoalescingEnabled && !processingUpdates && !isDisposed();
+	}
+
+	/**
+	 * Requests updates of chart appearance. If the updates are coalesced, they
+	 * are recorded and processed once on the next frame, otherwise they are
+	 * processed immediately.
+	 * 
+	 * @param updates
+	 *            the updates, a combination of {@link #UPDATE_DATA},
+	 *            {@link #UPDATE_STACK}, {@link #UPDATE_LAYOUT} and
+	 *            {@link #UPDATE_PAINT}
+	 */
+	public void scheduleUpdate(int updates) {
+
+		if(!isUpdateDeferred()) {
+			processUpdates(updates);
+			return;
+		}
+		pendingUpdates |= updates;
+		if(updateScheduled) {
+			return;
+		}
+		updateScheduled = true;
+		Runnable runnable = () -> {
+			updateScheduled = false;
+			flushUpdates();
+		};
+		long delay = 0;
+		if(maxFramesPerSecond > 0) {
+			long elapsed = System.nanoTime() - lastUpdateTime;
+			delay = (1000000000L / maxFramesPerSecond - elapsed) / 1000000;
+		}
+		if(delay > 0) {
+			getDisplay().timerExec((int)delay, runnable);
+		} else {
+			getDisplay().asyncExec(runnable);
+		}
+	}
+
+	/**
+	 * Processes the pending updates of chart appearance immediately.
+	 */
+	public void flushUpdates() {
+
+		int updates = pendingUpdates;
+		pendingUpdates = 0;
+		if(updates != 0 && !isDisposed()) {
+			processUpdates(updates);
+		}
+	}
+
+	/**
+	 * Processes the given updates of chart appearance. Updates requested in
+	 * the meantime are processed immediately.
+	 */
+	private void processUpdates(int updates) {
+
+		boolean processing = processingUpdates;
+		processingUpdates = true;
+		try {
+			lastUpdateTime = System.nanoTime();
+			if((updates & UPDATE_STACK) != 0) {
+				seriesSet.updateStackAndRiserData();
+			}
+			if((updates & UPDATE_LAYOUT) != 0) {
+				updateLayout();
+			}
+			if((updates & UPDATE_DATA) != 0) {
+				seriesSet.compressAllSeries();
+			}
+			if((updates & UPDATE_PAINT) != 0) {
+				redraw();
+			}
+		} finally {
+			processingUpdates = processing;
+		}
+	}
+
 	@Override
 	public void handleEvent(Event event) {
 
 		switch(event.type) {
 			case SWT.Resize:
-				updateLayout();
-				redraw();
+				scheduleUpdate(UPDATE_LAYOUT | UPDATE_PAINT);
 				break;
 			default:
 				break;
@@ -379,6 +623,10 @@ public class Chart extends Canvas implements Listener {
 		if(updateSuspended) {
 			return;
 		}
+		if(isUpdateDeferred()) {
+			scheduleUpdate(UPDATE_LAYOUT);
+			return;
+		}
 		if(legend != null) {
 			legend.updateLayoutData();
 		}
@@ -415,6 +663,10 @@ public class Chart extends Canvas implements Listener {
 	@Override
 	public void redraw() {
 
+		if(isUpdateDeferred()) {
+			scheduleUpdate(UPDATE_PAINT);
+			return;
+		}
 		super.redraw();
 		for(Control child : getChildren()) {
 			child.redraw();
@@ -129,6 +129,27 @@ public interface IAxis {
 	 */
 	void adjustRange();
 
+	/**
+	 * Enables adjusting the range of this Y axis to the series values within
+	 * the current range of their X axes. When enabled, changing the range of
+	 * an X axis, e.g. by zooming or scrolling, adjusts this axis, and
+	 * {@link #adjustRange()} only considers the visible series values. For
+	 * sorted series the values are found in logarithmic time, regardless of
+	 * the number of data points. Has no effect on X axes.
+	 * 
+	 * @param enabled
+	 *            true if adjusting the range to the visible series values
+	 */
+	void enableVisibleRangeAutoScale(boolean enabled);
+
+	/**
+	 * Gets the state indicating if the range of this axis is adjusted to the
+	 * series values within the range of their X axes.
+	 * 
+	 * @return true if adjusting the range to the visible series values
+	 */
+	boolean isVisibleRangeAutoScaleEnabled();
+
 	/**
 	 * Zooms in the axis.
 	 */
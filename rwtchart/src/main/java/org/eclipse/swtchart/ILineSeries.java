@@ -58,6 +58,32 @@ public interface ILineSeries<T> extends ISeries<T> {
 		}
 	}
 
+	/**
+	 * A compression type, which defines how the data points are reduced before
+	 * drawing.
+	 */
+	public enum CompressionType {
+		/** skip points falling into the same pixel as the previous point */
+		GRID("Grid"), //$NON-NLS-1$
+		/** keep first, last, minimum and maximum point per pixel column */
+		M4("M4"), //$NON-NLS-1$
+		/** keep a fixed number of points with the largest triangle three buckets algorithm */
+		LTTB("LTTB"); //$NON-NLS-1$
+
+		/** the label for compression type */
+		public final String label;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param label
+		 *            compression type label
+		 */
+		private CompressionType(String label) {
+			this.label = label;
+		}
+	}
+
 	/**
 	 * Gets the extended symbol type
 	 * 
@@ -270,4 +296,62 @@ public interface ILineSeries<T> extends ISeries<T> {
 	 *            threshold and connect all points.
 	 */
 	void setLineGapThreshold(double threshold);
+
+	/**
+	 * Gets the compression type.
+	 *
+	 * @return the compression type
+	 */
+	CompressionType getCompressionType();
+
+	/**
+	 * Sets the compression type. {@link CompressionType#M4} keeps the drawn line
+	 * pixel-identical to the raw data with at most four points per pixel column.
+	 * {@link CompressionType#LTTB} reduces the series to
+	 * {@link #getCompressionPointsPerPixel()} points per pixel column while
+	 * keeping its visual shape, which suits area charts. Both apply to series
+	 * sorted by X in either direction, other series fall back to
+	 * {@link CompressionType#GRID}.
+	 *
+	 * @param type
+	 *            the compression type, or null to restore the default
+	 *            {@link CompressionType#GRID}
+	 */
+	void setCompressionType(CompressionType type);
+
+	/**
+	 * Gets the number of points per pixel column kept by
+	 * {@link CompressionType#LTTB} compression.
+	 *
+	 * @return the number of points per pixel column
+	 */
+	double getCompressionPointsPerPixel();
+
+	/**
+	 * Sets the number of points per pixel column kept by
+	 * {@link CompressionType#LTTB} compression. The default is 2.
+	 *
+	 * @param pointsPerPixel
+	 *            the number of points per pixel column, must be positive
+	 */
+	void setCompressionPointsPerPixel(double pointsPerPixel);
+
+	/**
+	 * Gets the maximum number of symbols per pixel along the X axis.
+	 *
+	 * @return the maximum number of symbols per pixel
+	 */
+	double getMaxSymbolsPerPixel();
+
+	/**
+	 * Sets the maximum number of symbols per pixel along the X axis. When a
+	 * line is drawn and there are more drawn points than that, the symbols are
+	 * skipped, since they would only cover the line. Symbols of series without
+	 * a line are always drawn. The default is 1.
+	 *
+	 * @param symbolsPerPixel
+	 *            the maximum number of symbols per pixel, must be positive, or
+	 *            {@link Double#POSITIVE_INFINITY} to always draw the symbols
+	 */
+	void setMaxSymbolsPerPixel(double symbolsPerPixel);
 }
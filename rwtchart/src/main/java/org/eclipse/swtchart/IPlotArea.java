@@ -80,6 +80,24 @@ public interface IPlotArea {
 	 */
 	public void setBuffered(boolean buffered);
 
+	/**
+	 * Enables scrolling the plot area along with the X range, as for live
+	 * charts whose X range advances with new data. The plot area is always
+	 * fully redrawn on this platform, since drawings cannot be shifted.
+	 * 
+	 * @param enabled
+	 *            true to enable live scrolling
+	 */
+	public void enableLiveScroll(boolean enabled);
+
+	/**
+	 * Gets the state indicating if the plot area scrolls along with the X
+	 * range.
+	 * 
+	 * @return true if live scrolling is enabled
+	 */
+	public boolean isLiveScrollEnabled();
+
 	/**
 	 * Draws the image centered in the plot area.
 	 * 
@@ -281,6 +281,22 @@ public interface ISeries<DataType> {
 	 */
 	Point getPixelCoordinates(int index);
 
+	/**
+	 * Gets the range of series indexes whose X values are within the given
+	 * range. For series sorted by X in either direction the range is found by
+	 * binary search, so callers of {@link #getPixelCoordinates(int)} can restrict
+	 * themselves to the visible window. For other series the whole index range is
+	 * returned.
+	 * 
+	 * @param lower
+	 *            the lower value of X range
+	 * @param upper
+	 *            the upper value of X range
+	 * @return the first and the last index, the first being greater than the
+	 *         last if no X value is within the range
+	 */
+	int[] getIndexRange(double lower, double upper);
+
 	/**
 	 * Get series size
 	 * 
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart;
+
+/**
+ * A data point found at a pixel position on the plot area.
+ */
+public class PointHit {
+
+	/** the series */
+	private final ISeries<?> series;
+	/** the series index of the data point */
+	private final int index;
+	/** the horizontal pixel coordinate of the data point */
+	private final int x;
+	/** the vertical pixel coordinate of the data point */
+	private final int y;
+	/** the distance in pixels */
+	private final double distance;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param series
+	 *            the series
+	 * @param index
+	 *            the series index of the data point
+	 * @param x
+	 *            the horizontal pixel coordinate of the data point
+	 * @param y
+	 *            the vertical pixel coordinate of the data point
+	 * @param distance
+	 *            the distance in pixels from the searched position
+	 */
+	public PointHit(ISeries<?> series, int index, int x, int y, double distance) {
+
+		this.series = series;
+		this.index = index;
+		this.x = x;
+		this.y = y;
+		this.distance = distance;
+	}
+
+	/**
+	 * Gets the series of the data point.
+	 * 
+	 * @return the series
+	 */
+	public ISeries<?> getSeries() {
+
+		return series;
+	}
+
+	/**
+	 * Gets the series index of the data point.
+	 * 
+	 * @return the series index
+	 */
+	public int getIndex() {
+
+		return index;
+	}
+
+	/**
+	 * Gets the horizontal pixel coordinate of the data point on the plot area,
+	 * which is the center of the riser for bar series.
+	 * 
+	 * @return the horizontal pixel coordinate
+	 */
+	public int getX() {
+
+		return x;
+	}
+
+	/**
+	 * Gets the vertical pixel coordinate of the data point on the plot area,
+	 * which is the center of the riser for bar series.
+	 * 
+	 * @return the vertical pixel coordinate
+	 */
+	public int getY() {
+
+		return y;
+	}
+
+	/**
+	 * Gets the distance in pixels from the searched position to the data
+	 * point, or to the riser for bar series.
+	 * 
+	 * @return the distance in pixels
+	 */
+	public double getDistance() {
+
+		return distance;
+	}
+
+	@Override
+	public String toString() {
+
+		return "series=" + series.getId() + ", index=" + index + ", distance=" + distance; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
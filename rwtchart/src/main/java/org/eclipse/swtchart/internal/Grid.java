@@ -35,6 +35,8 @@ public class Grid implements IGrid {
 	private boolean isVisible;
 	/** the line style */
 	private LineStyle lineStyle;
+	/** the number of changes of the style */
+	private long styleGeneration;
 	/** the line width */
 	private final static int LINE_WIDTH = 1;
 	/** the default style */
@@ -56,6 +58,25 @@ public class Grid implements IGrid {
 		isVisible = true;
 	}
 
+	/**
+	 * Gets the number of changes of the style, which tells whether drawings
+	 * of the grid are still up to date.
+	 *
+	 * @return the style generation
+	 */
+	public long getStyleGeneration() {
+
+		return styleGeneration;
+	}
+
+	/**
+	 * Records a change of the style.
+	 */
+	private void styleChanged() {
+
+		styleGeneration++;
+	}
+
 	public boolean isVisible() {
 
 		return isVisible;
@@ -63,6 +84,7 @@ public class Grid implements IGrid {
 
 	public void setVisible(boolean isVisible) {
 
+		styleChanged();
 		this.isVisible = isVisible;
 	}
 
@@ -78,6 +100,7 @@ public class Grid implements IGrid {
 	@Override
 	public void setForeground(Color color) {
 
+		styleChanged();
 		if(color != null && color.isDisposed()) {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
@@ -97,6 +120,7 @@ public class Grid implements IGrid {
 	@Override
 	public void setStyle(LineStyle style) {
 
+		styleChanged();
 		if(style == null) {
 			this.lineStyle = DEFAULT_STYLE;
 		} else {
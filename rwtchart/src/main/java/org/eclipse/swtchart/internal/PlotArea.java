@@ -55,6 +55,8 @@ public class PlotArea extends Canvas implements PaintListener, IPlotArea {
 	private DisposeListener disposeListener;
 	private Image image = null;
 	private boolean buffered = false;
+	/** the state indicating if live scrolling is enabled, which is only kept since drawings cannot be shifted */
+	private boolean liveScrollEnabled = false;
 
 	/**
 	 * Constructor.
@@ -153,6 +155,8 @@ public class PlotArea extends Canvas implements PaintListener, IPlotArea {
 	@Override
 	public void paintControl(PaintEvent e) {
 
+		// the series have to be up to date before being drawn
+		chart.flushUpdates();
 		Point p = getSize();
 		GC gc = e.gc;
 		// draw the plot area background
@@ -219,4 +223,16 @@ public class PlotArea extends Canvas implements PaintListener, IPlotArea {
 
 		this.buffered = buffered;
 	}
+
+	@Override
+	public void enableLiveScroll(boolean enabled) {
+
+		liveScrollEnabled = enabled;
+	}
+
+	@Override
+	public boolean isLiveScrollEnabled() {
+
+		return liveScrollEnabled;
+	}
 }
@@ -38,6 +38,7 @@ import org.eclipse.swtchart.IAxis.Position;
 import org.eclipse.swtchart.ISeries;
 import org.eclipse.swtchart.internal.ChartLayoutData;
 import org.eclipse.swtchart.internal.Util;
+import org.eclipse.swtchart.internal.series.Series;
 
 /**
  * Axis tick labels.
@@ -750,16 +751,19 @@ public class AxisTickLabels implements PaintListener
       {
          if (axis.getDirection() == Direction.X)
          {
-            if (series.getXAxisId() == axis.getId() && series.getXSeries().length != 0)
+            if (series.getXAxisId() == axis.getId())
             {
-               int xSeriesLength = series.getXSeries().length;
-               double upper = series.getXSeries()[xSeriesLength - 1], lower = series.getXSeries()[0];
-               gridStep = BigDecimal.valueOf((upper - lower) / (xSeriesLength - 1));
+               double[] xSeries = series.getXSeries();
+               if (xSeries.length != 0)
+               {
+                  double upper = xSeries[xSeries.length - 1], lower = xSeries[0];
+                  gridStep = BigDecimal.valueOf((upper - lower) / (xSeries.length - 1));
+               }
             }
          }
          else
          {
-            if (series.getYAxisId() == axis.getId() && series.getYSeries().length != 0)
+            if (series.getYAxisId() == axis.getId() && !((Series<?>)series).isEmpty())
             {
                gridStep = BigDecimal.valueOf(1.0);
             }
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.axis;
+
+/**
+ * The conversion of data coordinates of an axis into pixel coordinates on the
+ * plot area for a given range, size and scale of the axis.
+ * <p>
+ * The orientation, direction, log and category scale are resolved once when
+ * the transform is created, so that converting a coordinate only subtracts the
+ * origin and scales the result, after taking the logarithm on log scale. The
+ * results are the same as those of {@link Axis#getPixelCoordinate(double)}.
+ */
+public final class AxisTransform {
+
+	/** the min value of range */
+	private final double lower;
+	/** the max value of range */
+	private final double upper;
+	/** the plot area width */
+	private final int width;
+	/** the plot area height */
+	private final int height;
+	/** the state indicating if the axis is horizontal */
+	private final boolean horizontal;
+	/** the state indicating if the axis is reversed */
+	private final boolean reversed;
+	/** the state indicating if the axis is on log scale */
+	private final boolean logScale;
+	/** the state indicating if the axis is a category axis */
+	private final boolean category;
+	/** the data coordinate, or its logarithm on log scale, at pixel 0 */
+	private final double origin;
+	/** the data span, or its logarithm on log scale, covering the axis length, negative if pixels grow against the data */
+	private final double span;
+	/** the axis length in pixels */
+	private final int length;
+	/** the pixel coordinate of 0 on log scale */
+	private final int zeroPixel;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param lower
+	 *            the min value of range
+	 * @param upper
+	 *            the max value of range
+	 * @param width
+	 *            the plot area width
+	 * @param height
+	 *            the plot area height
+	 * @param horizontal
+	 *            true if the axis is horizontal
+	 * @param reversed
+	 *            true if the axis is reversed
+	 * @param logScale
+	 *            true if the axis is on log scale
+	 * @param category
+	 *            true if the axis is a category axis
+	 */
+	AxisTransform(double lower, double upper, int width, int height, boolean horizontal, boolean reversed, boolean logScale, boolean category) {
+
+		this.lower = lower;
+		this.upper = upper;
+		this.width = width;
+		this.height = height;
+		this.horizontal = horizontal;
+		this.reversed = reversed;
+		this.logScale = logScale;
+		this.category = category;
+		length = horizontal ? width : height;
+		if(logScale) {
+			// the direction of log scale does not depend on the reversed state
+			double logLower = Math.log10((lower == 0) ? Math.min(0.1, upper / 10.0) : lower);
+			double logUpper = Math.log10(upper);
+			origin = horizontal ? logLower : logUpper;
+			span = horizontal ? logUpper - logLower : logLower - logUpper;
+			zeroPixel = horizontal ? (reversed ? width : 0) : (reversed ? 0 : height);
+		} else {
+			boolean increasing = horizontal != reversed;
+			if(category) {
+				origin = increasing ? lower - 0.5 : upper + 0.5;
+				span = increasing ? upper + 1 - lower : lower - upper - 1;
+			} else {
+				origin = increasing ? lower : upper;
+				span = increasing ? upper - lower : lower - upper;
+			}
+			zeroPixel = 0;
+		}
+	}
+
+	/**
+	 * Checks if this transform is for the given range, size and scale of an
+	 * axis.
+	 *
+	 * @return true if this transform is for the given parameters
+	 */
+	boolean isFor(double lower, double upper, int width, int height, boolean horizontal, boolean reversed, boolean logScale, boolean category) {
+
+		return this.lower == lower && this.upper == upper && this.width == width && this.height == height && this.horizontal == horizontal && this.reversed == reversed && this.logScale == logScale && this.category == category;
+	}
+
+	/**
+	 * Gets the number of pixels the coordinates of this transform are shifted
+	 * against those of the given transform, if the range of this transform is
+	 * the range of the given transform moved along the axis, as for charts
+	 * scrolling with live data.
+	 *
+	 * @param base
+	 *            the transform to compare with
+	 * @return the shift in pixels, which is not rounded, or NaN if the
+	 *         transforms differ by more than a move of the range
+	 */
+	public double getPixelShift(AxisTransform base) {
+
+		if(logScale || category || base.logScale || base.category || horizontal != base.horizontal || reversed != base.reversed || width != base.width || height != base.height) {
+			return Double.NaN;
+		}
+		// the spans of moved ranges may differ by rounding errors
+		if(Math.abs(span - base.span) > Math.abs(span) * 1e-9) {
+			return Double.NaN;
+		}
+		return (base.origin - origin) / span * length;
+	}
+
+	/**
+	 * Gets the pixel coordinate corresponding to the given data coordinate.
+	 *
+	 * @param value
+	 *            the data coordinate
+	 * @return the pixel coordinate on plot area
+	 */
+	public int toPixel(double value) {
+
+		if(logScale) {
+			return (value == 0) ? zeroPixel : (int)((Math.log10(value) - origin) / span * length);
+		}
+		return (int)((value - origin) / span * length);
+	}
+
+	/**
+	 * Gets the data coordinate corresponding to the given pixel coordinate,
+	 * which is the inverse of {@link #toPixel(double)} apart from rounding.
+	 *
+	 * @param pixel
+	 *            the pixel coordinate on plot area
+	 * @return the data coordinate
+	 */
+	public double toValue(int pixel) {
+
+		double value = origin + (double)pixel / length * span;
+		return logScale ? Math.pow(10, value) : value;
+	}
+
+	/**
+	 * Gets the pixel coordinates corresponding to a range of data coordinates.
+	 *
+	 * @param src
+	 *            the data coordinates
+	 * @param from
+	 *            the first index in <code>src</code>, inclusive
+	 * @param to
+	 *            the last index in <code>src</code>, exclusive
+	 * @param dst
+	 *            the array receiving the pixel coordinates from index 0
+	 */
+	public void toPixels(double[] src, int from, int to, int[] dst) {
+
+		toPixels(src, from, to, dst, false);
+	}
+
+	/**
+	 * Gets the pixel coordinates corresponding to a range of data coordinates,
+	 * which are optionally negated first as for inverted series.
+	 *
+	 * @param src
+	 *            the data coordinates
+	 * @param from
+	 *            the first index in <code>src</code>, inclusive
+	 * @param to
+	 *            the last index in <code>src</code>, exclusive
+	 * @param dst
+	 *            the array receiving the pixel coordinates from index 0
+	 * @param negate
+	 *            true to convert the negated data coordinates
+	 */
+	public void toPixels(double[] src, int from, int to, int[] dst, boolean negate) {
+
+		if(logScale) {
+			for(int i = from; i < to; i++) {
+				dst[i - from] = toPixel(negate ? -src[i] : src[i]);
+			}
+			return;
+		}
+		// negating the value is the same as negating the origin and the span
+		double o = negate ? -origin : origin;
+		double s = negate ? -span : span;
+		double l = length;
+		for(int i = from; i < to; i++) {
+			dst[i - from] = (int)((src[i] - o) / s * l);
+		}
+	}
+}
@@ -12,12 +12,15 @@
  *******************************************************************************/
 package org.eclipse.swtchart.internal.compress;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.eclipse.swtchart.model.MinMaxPyramid;
+import org.eclipse.swtchart.model.SortedXIndex;
 
 /**
  * A base class for compressor providing default implementations.
  */
-public abstract class Compress implements ICompress {
+public abstract class Compress implements ICompress, Cloneable {
 
 	/** the previous X grid index */
 	protected int previousXGridIndex;
@@ -33,12 +36,24 @@ public abstract class Compress implements ICompress {
 	protected double[] xSeries = null;
 	/** the source Y series to be compressed */
 	protected double[] ySeries = null;
-	/** the compressed X series */
-	protected transient double[] compressedXSeries = null;
-	/** the compressed Y series */
-	protected transient double[] compressedYSeries = null;
-	/** the compressed series indexes */
-	protected transient int[] compressedIndexes = null;
+	/** the index to find the source points within the x range */
+	protected SortedXIndex xIndex = null;
+	/** the min/max pyramid over the source Y series */
+	protected MinMaxPyramid pyramid = null;
+	/** the compressed points, reused across compressions */
+	private CompressBuffer compressedSeries = new CompressBuffer();
+	/** the buffer the next compression is done in, swapped with the compressed points when done */
+	private CompressBuffer workSeries = new CompressBuffer();
+	/** the flag indicating whether the compressed points hold the uncompressed series */
+	private boolean uncompressedSeriesLoaded;
+	/** the revision of the source data and parameters, incremented whenever the result is invalidated */
+	private int revision;
+	/** the number of source points covered by the compressed points while points have been appended, or -1 */
+	private int appendedFrom = -1;
+	/** the flag indicating whether the compressed points can be extended by compressing appended points only */
+	private boolean resumable;
+	/** the cache of points compressed with recent configurations */
+	private CompressCache cache = new CompressCache();
 	/** the lower value of x range */
 	protected double xLower;
 	/** the upper value of x range */
@@ -55,6 +70,10 @@ public abstract class Compress implements ICompress {
 	private long widthInPixel;
 	/** the plot area height in pixels */
 	private long heightInPixel;
+	/** the lower value of the plot x range, on log scale if enabled */
+	private double columnLower;
+	/** the number of pixel columns per x unit, on log scale if enabled */
+	private double columnScale;
 
 	@Override
 	public void setXSeries(double[] xSeries) {
@@ -65,12 +84,10 @@ public abstract class Compress implements ICompress {
 		double[] copiedSeries = new double[xSeries.length];
 		System.arraycopy(xSeries, 0, copiedSeries, 0, xSeries.length);
 		this.xSeries = copiedSeries;
-		compressedXSeries = copiedSeries;
-		compressedIndexes = new int[xSeries.length];
-		for(int i = 0; i < xSeries.length; i++) {
-			compressedIndexes[i] = i;
-		}
-		compressed = false;
+		xIndex = new SortedXIndex(copiedSeries);
+		uncompressedSeriesLoaded = false;
+		appendedFrom = -1;
+		invalidate();
 	}
 
 	@Override
@@ -82,8 +99,106 @@ public abstract class Compress implements ICompress {
 		double[] copiedSeries = new double[ySeries.length];
 		System.arraycopy(ySeries, 0, copiedSeries, 0, ySeries.length);
 		this.ySeries = copiedSeries;
-		compressedYSeries = copiedSeries;
-		compressed = false;
+		pyramid = null;
+		uncompressedSeriesLoaded = false;
+		appendedFrom = -1;
+		invalidate();
+	}
+
+	@Override
+	public boolean appendSeries(double[] xSeries, double[] ySeries) {
+
+		if(this.xSeries == null || this.ySeries == null || xSeries == null || ySeries == null) {
+			return false;
+		}
+		int size = this.xSeries.length;
+		if(this.ySeries.length != size || xSeries.length != ySeries.length) {
+			return false;
+		}
+		int dropped = getDroppedCount(xSeries, ySeries);
+		if(dropped < 0) {
+			return false;
+		}
+		setExtendedSeries(Arrays.copyOf(xSeries, xSeries.length), Arrays.copyOf(ySeries, ySeries.length), dropped, true);
+		return true;
+	}
+
+	@Override
+	public boolean extendSeries(double[] xSeries, double[] ySeries, int dropped, boolean resume) {
+
+		if(this.xSeries == null || this.ySeries == null || xSeries == null || ySeries == null) {
+			return false;
+		}
+		int size = this.xSeries.length;
+		if(this.ySeries.length != size || xSeries.length != ySeries.length || dropped < 0 || dropped > size || xSeries.length < size - dropped) {
+			return false;
+		}
+		setExtendedSeries(xSeries, ySeries, dropped, resume);
+		return true;
+	}
+
+	/**
+	 * Sets the series which extend the current ones after the dropped points,
+	 * keeping the compressed points if the compression can be resumed.
+	 */
+	private void setExtendedSeries(double[] xSeries, double[] ySeries, int dropped, boolean resume) {
+
+		// the compressed points cover the current series, or the series before
+		// points were appended without compressing them
+		int resumeFrom = compressed && resumable ? this.xSeries.length : appendedFrom;
+		this.xSeries = xSeries;
+		this.ySeries = ySeries;
+		xIndex = xIndex.extend(this.xSeries, dropped);
+		pyramid = null;
+		uncompressedSeriesLoaded = false;
+		appendedFrom = -1;
+		if(resume && resumeFrom >= dropped && (dropped == 0 || removeHead(compressedSeries, dropped))) {
+			appendedFrom = resumeFrom - dropped;
+		}
+		invalidate();
+	}
+
+	/**
+	 * Gets the number of points dropped from the start of the current series
+	 * if the given series continue them, as for a full ring buffer evicting
+	 * its oldest points when new ones are appended.
+	 * 
+	 * @param xSeries
+	 *            the X series
+	 * @param ySeries
+	 *            the Y series
+	 * @return the number of dropped points, or -1 if the given series do not
+	 *         continue the current ones
+	 */
+	private int getDroppedCount(double[] xSeries, double[] ySeries) {
+
+		int size = this.xSeries.length;
+		if(xSeries.length >= size && Arrays.equals(this.xSeries, 0, size, xSeries, 0, size) && Arrays.equals(this.ySeries, 0, size, ySeries, 0, size)) {
+			return 0;
+		}
+		// the first remaining point is found by its x coordinate, which only works for sorted series
+		if(!xIndex.isSorted() || xSeries.length == 0) {
+			return -1;
+		}
+		int dropped = xIndex.getFirstIndex(xSeries[0], xSeries[0]);
+		int kept = size - dropped;
+		if(dropped <= 0 || kept <= 0 || xSeries.length < kept) {
+			return -1;
+		}
+		if(!Arrays.equals(this.xSeries, dropped, size, xSeries, 0, kept) || !Arrays.equals(this.ySeries, dropped, size, ySeries, 0, kept)) {
+			return -1;
+		}
+		return dropped;
+	}
+
+	@Override
+	public void setMinMaxPyramid(MinMaxPyramid pyramid) {
+
+		if(ySeries != null && pyramid != null && pyramid.size() != ySeries.length) {
+			return;
+		}
+		this.pyramid = pyramid;
+		invalidate();
 	}
 
 	@Override
@@ -92,28 +207,122 @@ public abstract class Compress implements ICompress {
 		return xSeries;
 	}
 
+	@Override
+	public SortedXIndex getXIndex() {
+
+		return xIndex;
+	}
+
+	@Override
+	public CompressCache getCache() {
+
+		return cache;
+	}
+
+	@Override
+	public boolean isCompressed() {
+
+		return compressed;
+	}
+
+	@Override
+	public boolean isCompressed(CompressConfig compressConfig) {
+
+		return compressed && compressConfig.equals(prevConfig);
+	}
+
+	@Override
+	public Compress copy() {
+
+		try {
+			Compress copy = (Compress)super.clone();
+			copy.compressedSeries = new CompressBuffer();
+			copy.workSeries = new CompressBuffer();
+			copy.uncompressedSeriesLoaded = false;
+			copy.appendedFrom = -1;
+			copy.cache = new CompressCache();
+			copy.cache.setMaxBytes(0);
+			return copy;
+		} catch(CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public boolean adopt(ICompress copy) {
+
+		if(!(copy instanceof Compress) || copy.getClass() != getClass()) {
+			return false;
+		}
+		Compress other = (Compress)copy;
+		if(!other.compressed || other.revision != revision) {
+			return false;
+		}
+		// the copy shares the source series, so only its result and range are taken over
+		workSeries = compressed && prevConfig != null ? cache.put(prevConfig, compressedSeries) : compressedSeries;
+		compressedSeries = other.compressedSeries;
+		other.compressedSeries = new CompressBuffer();
+		other.compressed = false;
+		config = other.config;
+		prevConfig = other.prevConfig;
+		xLower = other.xLower;
+		xUpper = other.xUpper;
+		yLower = other.yLower;
+		yUpper = other.yUpper;
+		isXLogScale = other.isXLogScale;
+		isYLogScale = other.isYLogScale;
+		widthInPixel = other.widthInPixel;
+		heightInPixel = other.heightInPixel;
+		resumable = false;
+		compressed = true;
+		return true;
+	}
+
+	/**
+	 * Invalidates the compressed points, e.g. when the source series or a
+	 * parameter of the compression changes. Copies created before are not
+	 * adopted anymore.
+	 */
+	protected void invalidate() {
+
+		compressed = false;
+		revision++;
+		cache.clear();
+	}
+
+	@Override
+	public CompressBuffer getCompressedSeries() {
+
+		if(!compressed && !uncompressedSeriesLoaded && appendedFrom < 0) {
+			// until compressed, all points are drawn, or only the points compressed before appending
+			compressedSeries.clear();
+			if(xSeries != null && ySeries != null) {
+				compressedSeries.setAll(xSeries, ySeries);
+			}
+			uncompressedSeriesLoaded = true;
+		}
+		return compressedSeries;
+	}
+
 	@Override
 	public double[] getCompressedXSeries() {
 
-		double[] copiedSeries = new double[compressedXSeries.length];
-		System.arraycopy(compressedXSeries, 0, copiedSeries, 0, compressedXSeries.length);
-		return copiedSeries;
+		CompressBuffer buffer = getCompressedSeries();
+		return Arrays.copyOf(buffer.getXSeries(), buffer.size());
 	}
 
 	@Override
 	public double[] getCompressedYSeries() {
 
-		double[] copiedSeries = new double[compressedYSeries.length];
-		System.arraycopy(compressedYSeries, 0, copiedSeries, 0, compressedYSeries.length);
-		return copiedSeries;
+		CompressBuffer buffer = getCompressedSeries();
+		return Arrays.copyOf(buffer.getYSeries(), buffer.size());
 	}
 
 	@Override
 	public int[] getCompressedIndexes() {
 
-		int[] copiedSeries = new int[compressedIndexes.length];
-		System.arraycopy(compressedIndexes, 0, copiedSeries, 0, compressedIndexes.length);
-		return copiedSeries;
+		CompressBuffer buffer = getCompressedSeries();
+		return Arrays.copyOf(buffer.getIndexes(), buffer.size());
 	}
 
 	@Override
@@ -122,8 +331,53 @@ public abstract class Compress implements ICompress {
 		if((compressConfig.equals(prevConfig) && compressed) || xSeries == null || ySeries == null) {
 			return false;
 		}
+		if(appendedFrom >= 0 && compressConfig.equals(prevConfig)) {
+			// keep the compressed points and only add the appended ones, while the
+			// range stays within the tolerance of the previous configuration
+			setConfig(compressConfig);
+			int appended = appendedFrom;
+			appendedFrom = -1;
+			if(addAppendedPlots(compressedSeries, appended)) {
+				compressed = true;
+				return true;
+			}
+		}
+		appendedFrom = -1;
+		// keep the current points for going back to their range later
+		if(compressed && prevConfig != null) {
+			compressedSeries = cache.put(prevConfig, compressedSeries);
+		}
 		// store the previous configuration
 		prevConfig = new CompressConfig(compressConfig);
+		setConfig(compressConfig);
+		CompressBuffer cached = cache.get(compressConfig);
+		if(cached != null) {
+			workSeries.copyFrom(cached);
+			resumable = false;
+		} else {
+			previousXGridIndex = -1;
+			previousYGridIndex = -1;
+			// add necessary plots to the work buffer
+			workSeries.clear();
+			addNecessaryPlots(workSeries);
+			resumable = true;
+		}
+		// publish the work buffer
+		CompressBuffer buffer = compressedSeries;
+		compressedSeries = workSeries;
+		workSeries = buffer;
+		compressed = true;
+		return true;
+	}
+
+	/**
+	 * Stores the given configuration and its values into fields.
+	 * 
+	 * @param compressConfig
+	 *            the configuration for compression
+	 */
+	private void setConfig(CompressConfig compressConfig) {
+
 		this.config = compressConfig;
 		// store into fields to improve performance
 		xLower = config.getXLowerValue();
@@ -134,46 +388,116 @@ public abstract class Compress implements ICompress {
 		isYLogScale = config.isYLogScale();
 		widthInPixel = config.getWidthInPixel();
 		heightInPixel = config.getHeightInPixel();
-		previousXGridIndex = -1;
-		previousYGridIndex = -1;
-		ArrayList<Double> xList = new ArrayList<Double>();
-		ArrayList<Double> yList = new ArrayList<Double>();
-		ArrayList<Integer> indexList = new ArrayList<Integer>();
-		// add necessary plots to the array
-		addNecessaryPlots(xList, yList, indexList);
-		compressedXSeries = new double[xList.size()];
-		compressedYSeries = new double[yList.size()];
-		compressedIndexes = new int[indexList.size()];
-		for(int i = 0; i < xList.size(); i++) {
-			compressedXSeries[i] = xList.get(i);
-			compressedYSeries[i] = yList.get(i);
-			compressedIndexes[i] = indexList.get(i);
+	}
+
+	/**
+	 * Adds the necessary plots.
+	 * 
+	 * @param buffer
+	 *            the buffer in which the necessary plots are stored
+	 */
+	abstract protected void addNecessaryPlots(CompressBuffer buffer);
+
+	/**
+	 * Adds the necessary plots among the points appended after the previous
+	 * compression to the previously compressed points. The default
+	 * implementation does not support it, so that all points are compressed
+	 * again.
+	 * 
+	 * @param buffer
+	 *            the buffer holding the previously compressed points
+	 * @param from
+	 *            the index of the first appended point
+	 * @return false if the points have to be compressed again, in which case
+	 *         nothing is added
+	 */
+	protected boolean addAppendedPlots(CompressBuffer buffer, int from) {
+
+		return false;
+	}
+
+	/**
+	 * Removes the compressed points of the given number of points dropped
+	 * from the start of the series, so that the compression can be resumed
+	 * with the appended points. The default implementation does not support
+	 * it, so that all points are compressed again.
+	 * 
+	 * @param buffer
+	 *            the buffer holding the previously compressed points
+	 * @param count
+	 *            the number of dropped points
+	 * @return false if the points have to be compressed again, in which case
+	 *         the buffer is unchanged
+	 */
+	protected boolean removeHead(CompressBuffer buffer, int count) {
+
+		return false;
+	}
+
+	/**
+	 * Adds the first, last, minimum and maximum point of each bucket of the
+	 * coarsest pyramid level which still has at least one bucket per pixel
+	 * column, for the points from <code>start</code> to <code>end</code>. The
+	 * points are added in series order and the cost only depends on the plot
+	 * width.
+	 * 
+	 * @param buffer
+	 *            the buffer to store the points
+	 * @param start
+	 *            the first series index, inclusive
+	 * @param end
+	 *            the last series index, exclusive
+	 * @return false if there is no pyramid or no level coarser than the
+	 *         points themselves, in which case nothing is added
+	 */
+	protected boolean addPyramidPlots(CompressBuffer buffer, int start, int end) {
+
+		if(pyramid == null || end - start <= 0 || pyramid.size() != xSeries.length) {
+			return false;
+		}
+		int level = pyramid.getLevel(end - start, widthInPixel);
+		if(level == 0) {
+			return false;
+		}
+		int lastBucket = (end - 1) >> level;
+		int prevIndex = -1;
+		for(int bucket = start >> level; bucket <= lastBucket; bucket++) {
+			int minIndex = pyramid.getMinIndex(level, bucket);
+			int maxIndex = pyramid.getMaxIndex(level, bucket);
+			prevIndex = addPoint(buffer, pyramid.getFirstIndex(level, bucket), prevIndex);
+			prevIndex = addPoint(buffer, Math.min(minIndex, maxIndex), prevIndex);
+			prevIndex = addPoint(buffer, Math.max(minIndex, maxIndex), prevIndex);
+			prevIndex = addPoint(buffer, pyramid.getLastIndex(level, bucket), prevIndex);
 		}
-		compressed = true;
 		return true;
 	}
 
 	/**
-	 * Adds the necessary plots.
+	 * Adds the source point at the given index unless it is not after the
+	 * previously added one.
 	 * 
-	 * @param xList
-	 *            the array in which x coordinate for necessary plot is stored
-	 * @param yList
-	 *            the array in which y coordinate for necessary plot is stored
-	 * @param indexList
-	 *            the array in which series index for necessary plot is stored
+	 * @param buffer
+	 *            the buffer to store the point
+	 * @param index
+	 *            the series index
+	 * @param prevIndex
+	 *            the series index of the previously added point
+	 * @return the series index of the last added point
 	 */
-	abstract protected void addNecessaryPlots(ArrayList<Double> xList, ArrayList<Double> yList, ArrayList<Integer> indexList);
+	protected int addPoint(CompressBuffer buffer, int index, int prevIndex) {
+
+		if(index <= prevIndex) {
+			return prevIndex;
+		}
+		buffer.add(xSeries[index], ySeries[index], index);
+		return index;
+	}
 
 	/**
-	 * Adds the given coordinate to list.
+	 * Adds the given coordinate to buffer.
 	 * 
-	 * @param xList
-	 *            the list to store the X coordinate
-	 * @param yList
-	 *            the list to store the Y coordinate
-	 * @param indexList
-	 *            the list to store the series index
+	 * @param buffer
+	 *            the buffer to store the coordinate
 	 * @param x
 	 *            the X coordinate
 	 * @param y
@@ -181,11 +505,72 @@ public abstract class Compress implements ICompress {
 	 * @param index
 	 *            the series index
 	 */
-	protected void addToList(ArrayList<Double> xList, ArrayList<Double> yList, ArrayList<Integer> indexList, double x, double y, int index) {
+	protected void addToList(CompressBuffer buffer, double x, double y, int index) {
+
+		buffer.add(x, y, index);
+	}
+
+	/**
+	 * Aligns the pixel columns with the plot area as given by
+	 * {@link CompressConfig#setPlotXRange(double, double, long)}.
+	 */
+	protected void setColumns() {
+
+		double plotLower = config.getPlotXLowerValue();
+		double plotUpper = config.getPlotXUpperValue();
+		if(config.isXLogScale()) {
+			columnLower = Math.log10(plotLower == 0 ? Math.min(0.1, plotUpper / 10.0) : plotLower);
+			columnScale = config.getPlotXLengthInPixel() / (Math.log10(plotUpper) - columnLower);
+		} else {
+			columnLower = plotLower;
+			columnScale = config.getPlotXLengthInPixel() / (plotUpper - plotLower);
+		}
+	}
 
-		xList.add(x);
-		yList.add(y);
-		indexList.add(index);
+	/**
+	 * Gets the pixel column of the given x coordinate.
+	 *
+	 * @param x
+	 *            the X coordinate
+	 * @return the pixel column
+	 * @see #setColumns()
+	 */
+	protected int getColumn(double x) {
+
+		double value = config.isXLogScale() ? Math.log10(x) : x;
+		return (int)Math.floor((value - columnLower) * columnScale);
+	}
+
+	/**
+	 * Finds the index after the last point in the given pixel column. Since the
+	 * series is sorted, the points of a column are consecutive, and an
+	 * exponential search keeps sparse columns cheap.
+	 *
+	 * @param start
+	 *            the index of the first point in the column
+	 * @param end
+	 *            the index after the last point to consider
+	 * @param column
+	 *            the pixel column
+	 * @return the index of the first point in another column, or end
+	 */
+	protected int findColumnEnd(int start, int end, int column) {
+
+		int step = 1;
+		while(start + step < end && getColumn(xSeries[start + step]) == column) {
+			step *= 2;
+		}
+		int low = start + step / 2 + 1;
+		int high = Math.min(end, start + step);
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(getColumn(xSeries[middle]) != column) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
 	}
 
 	/**
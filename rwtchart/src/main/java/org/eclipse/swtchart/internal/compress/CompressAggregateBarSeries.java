@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.compress;
+
+import java.util.Arrays;
+
+import org.eclipse.swtchart.IBarSeries.AggregationType;
+
+/**
+ * A compressor for bar series sorted by X in either direction, which merges
+ * all points falling into one pixel column into a single riser. The riser is
+ * placed at the first point of the column and its value is the maximum, sum or
+ * average of the values in the column, so that at most one riser per pixel
+ * column remains. The points directly outside the X range are kept as they are.
+ * <p>
+ * For stacked series the stack values are aggregated in the same way and
+ * provided by {@link CompressBuffer#getStackSeries()}. Since the stack value of
+ * a point is the sum of its value and the values below it, summed and averaged
+ * risers still stack on top of each other. A maximum riser takes its value and
+ * stack value from the point of the column where the top of the stacked bars
+ * is highest, so that the risers of all stacked series are taken from the
+ * same point and stay on top of each other as well.
+ */
+public class CompressAggregateBarSeries extends Compress {
+
+	/** the aggregation of the values within a pixel column */
+	private final AggregationType aggregation;
+	/** the stack values of the source series, or null if not stacked */
+	private double[] stackSeries;
+	/** the stack values of the top of the stacked bars, or null if unknown */
+	private double[] stackTotalSeries;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param aggregation
+	 *            the aggregation of the values within a pixel column, other
+	 *            than {@link AggregationType#NONE}
+	 */
+	public CompressAggregateBarSeries(AggregationType aggregation) {
+		this.aggregation = aggregation;
+	}
+
+	@Override
+	protected void addNecessaryPlots(CompressBuffer buffer) {
+
+		int size = Math.min(xSeries.length, ySeries.length);
+		if(size == 0) {
+			return;
+		}
+		if(!xIndex.isSorted() || xLower >= xUpper) {
+			for(int i = 0; i < size; i++) {
+				addRiser(buffer, i, i + 1);
+			}
+			return;
+		}
+		setColumns();
+		int first = xIndex.getFirstIndex(xLower, xUpper);
+		int end = Math.min(size, xIndex.getLastIndex(xLower, xUpper) + 1);
+		if(first > 0) {
+			addRiser(buffer, first - 1, first);
+		}
+		int start = first;
+		while(start < end) {
+			int next = findColumnEnd(start, end, getColumn(xSeries[start]));
+			addRiser(buffer, start, next);
+			start = next;
+		}
+		if(end < size) {
+			addRiser(buffer, end, end + 1);
+		}
+	}
+
+	/**
+	 * Adds the riser aggregating the points from <code>from</code> to
+	 * <code>to</code>.
+	 *
+	 * @param buffer
+	 *            the buffer to store the riser
+	 * @param from
+	 *            the first series index, inclusive
+	 * @param to
+	 *            the last series index, exclusive
+	 */
+	private void addRiser(CompressBuffer buffer, int from, int to) {
+
+		double value;
+		double stack;
+		if(to - from == 1) {
+			value = ySeries[from];
+			stack = getStack(from);
+		} else if(aggregation == AggregationType.MAX) {
+			if(stackSeries == null && pyramid != null && pyramid.size() == ySeries.length) {
+				value = ySeries[pyramid.getRangeMaxIndex(from, to)];
+				stack = value;
+			} else {
+				int index = getMaxStackIndex(from, to);
+				value = ySeries[index];
+				stack = getStack(index);
+			}
+		} else {
+			value = 0;
+			stack = 0;
+			int count = 0;
+			for(int i = from; i < to; i++) {
+				if(!Double.isNaN(ySeries[i])) {
+					value += ySeries[i];
+					stack += getStack(i);
+					count++;
+				}
+			}
+			if(count == 0) {
+				value = Double.NaN;
+				stack = Double.NaN;
+			} else if(aggregation == AggregationType.AVERAGE) {
+				value /= count;
+				stack /= count;
+			}
+		}
+		if(stackSeries == null) {
+			buffer.add(xSeries[from], value, from);
+		} else {
+			buffer.add(xSeries[from], value, stack, from);
+		}
+	}
+
+	/**
+	 * Gets the point whose top of the stacked bars is highest, which is the
+	 * point with the highest value if the series is not stacked. NaN is
+	 * neither lower nor higher than any value.
+	 */
+	private int getMaxStackIndex(int from, int to) {
+
+		double[] totals = stackTotalSeries != null && stackTotalSeries.length >= to ? stackTotalSeries : null;
+		int result = from;
+		for(int i = from + 1; i < to; i++) {
+			double top = totals != null ? totals[i] : getStack(i);
+			double max = totals != null ? totals[result] : getStack(result);
+			if(top > max || Double.isNaN(max)) {
+				result = i;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the stack value of the given point, which is its value for points
+	 * not covered by the stack values.
+	 */
+	private double getStack(int index) {
+
+		return stackSeries != null && index < stackSeries.length ? stackSeries[index] : ySeries[index];
+	}
+
+	/**
+	 * Sets the stack values of the top of the stacked bars the series is part
+	 * of. The given array must not be modified afterwards.
+	 *
+	 * @param stackTotalSeries
+	 *            the stack values, or null if unknown
+	 */
+	public void setStackTotalSeries(double[] stackTotalSeries) {
+
+		if(!Arrays.equals(this.stackTotalSeries, stackTotalSeries)) {
+			this.stackTotalSeries = stackTotalSeries;
+			if(stackSeries != null && aggregation == AggregationType.MAX) {
+				invalidate();
+			}
+		}
+	}
+
+	/**
+	 * Gets the aggregation of the values within a pixel column.
+	 *
+	 * @return the aggregation
+	 */
+	public AggregationType getAggregation() {
+
+		return aggregation;
+	}
+
+	/**
+	 * Sets the stack values of the source series. The given array must not be
+	 * modified afterwards.
+	 *
+	 * @param stackSeries
+	 *            the stack values, or null if the series is not stacked
+	 */
+	public void setStackSeries(double[] stackSeries) {
+
+		if(!Arrays.equals(this.stackSeries, stackSeries)) {
+			this.stackSeries = stackSeries;
+			invalidate();
+		}
+	}
+}
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.compress;
+
+/**
+ * A growable buffer of compressed points, which is reused across compressions
+ * so that compressing and drawing do not allocate per point.
+ * <p>
+ * The arrays returned by the getters are the backing arrays of the buffer:
+ * only the first {@link #size()} elements are valid, and they must not be
+ * modified by the caller.
+ */
+public class CompressBuffer {
+
+	/** the initial capacity */
+	private static final int INITIAL_CAPACITY = 64;
+	/** the X coordinates */
+	private double[] xSeries;
+	/** the Y coordinates */
+	private double[] ySeries;
+	/** the series indexes */
+	private int[] indexes;
+	/** the stack values of aggregated points, allocated on first use */
+	private double[] stackSeries;
+	/** the flag indicating whether the points have stack values */
+	private boolean stacked;
+	/** the number of points */
+	private int size;
+	/** the number of times the points have been replaced */
+	private int version;
+
+	/**
+	 * Constructor.
+	 */
+	public CompressBuffer() {
+		xSeries = new double[INITIAL_CAPACITY];
+		ySeries = new double[INITIAL_CAPACITY];
+		indexes = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Gets the number of points.
+	 *
+	 * @return the number of points
+	 */
+	public int size() {
+
+		return size;
+	}
+
+	/**
+	 * Gets the number of points the buffer can hold without growing.
+	 *
+	 * @return the capacity
+	 */
+	int capacity() {
+
+		return xSeries.length;
+	}
+
+	/**
+	 * Gets the memory taken by the backing arrays.
+	 *
+	 * @return the memory in bytes
+	 */
+	long getBytes() {
+
+		long bytes = (long)xSeries.length * (2 * Double.BYTES + Integer.BYTES);
+		return stackSeries != null ? bytes + (long)stackSeries.length * Double.BYTES : bytes;
+	}
+
+	/**
+	 * Gets the number of times the points have been replaced. Together with
+	 * the size, it tells whether data derived from the points is still up to
+	 * date, since points are otherwise only appended.
+	 *
+	 * @return the version
+	 */
+	public int getVersion() {
+
+		return version;
+	}
+
+	/**
+	 * Gets the backing array of X coordinates.
+	 *
+	 * @return the X coordinates, valid up to {@link #size()}
+	 */
+	public double[] getXSeries() {
+
+		return xSeries;
+	}
+
+	/**
+	 * Gets the backing array of Y coordinates.
+	 *
+	 * @return the Y coordinates, valid up to {@link #size()}
+	 */
+	public double[] getYSeries() {
+
+		return ySeries;
+	}
+
+	/**
+	 * Gets the backing array of series indexes.
+	 *
+	 * @return the series indexes, valid up to {@link #size()}
+	 */
+	public int[] getIndexes() {
+
+		return indexes;
+	}
+
+	/**
+	 * Gets the backing array of stack values, which only aggregating
+	 * compressors provide for stacked series.
+	 *
+	 * @return the stack values, valid up to {@link #size()}, or null if the
+	 *         points have no stack values
+	 */
+	public double[] getStackSeries() {
+
+		return stacked ? stackSeries : null;
+	}
+
+	/**
+	 * Removes all points, keeping the capacity.
+	 */
+	void clear() {
+
+		size = 0;
+		stacked = false;
+		version++;
+	}
+
+	/**
+	 * Adds a point.
+	 *
+	 * @param x
+	 *            the X coordinate
+	 * @param y
+	 *            the Y coordinate
+	 * @param index
+	 *            the series index
+	 */
+	void add(double x, double y, int index) {
+
+		if(size == xSeries.length) {
+			ensureCapacity(size + 1);
+		}
+		xSeries[size] = x;
+		ySeries[size] = y;
+		indexes[size] = index;
+		size++;
+	}
+
+	/**
+	 * Adds a point with a stack value. Either all or none of the points have
+	 * stack values.
+	 *
+	 * @param x
+	 *            the X coordinate
+	 * @param y
+	 *            the Y coordinate
+	 * @param stack
+	 *            the stack value
+	 * @param index
+	 *            the series index
+	 */
+	void add(double x, double y, double stack, int index) {
+
+		if(stackSeries == null) {
+			stackSeries = new double[xSeries.length];
+		}
+		stacked = true;
+		add(x, y, index);
+		stackSeries[size - 1] = stack;
+	}
+
+	/**
+	 * Removes the points of the given number of series items dropped from the
+	 * start of the series, and shifts the series indexes of the remaining
+	 * points accordingly.
+	 *
+	 * @param count
+	 *            the number of dropped series items
+	 */
+	void removeHead(int count) {
+
+		int kept = 0;
+		for(int i = 0; i < size; i++) {
+			if(indexes[i] >= count) {
+				xSeries[kept] = xSeries[i];
+				ySeries[kept] = ySeries[i];
+				indexes[kept] = indexes[i] - count;
+				if(stacked) {
+					stackSeries[kept] = stackSeries[i];
+				}
+				kept++;
+			}
+		}
+		size = kept;
+		version++;
+	}
+
+	/**
+	 * Inserts a point before the first one. The buffer must not have stack
+	 * values.
+	 *
+	 * @param x
+	 *            the X coordinate
+	 * @param y
+	 *            the Y coordinate
+	 * @param index
+	 *            the series index
+	 */
+	void addFirst(double x, double y, int index) {
+
+		ensureCapacity(size + 1);
+		System.arraycopy(xSeries, 0, xSeries, 1, size);
+		System.arraycopy(ySeries, 0, ySeries, 1, size);
+		System.arraycopy(indexes, 0, indexes, 1, size);
+		xSeries[0] = x;
+		ySeries[0] = y;
+		indexes[0] = index;
+		size++;
+	}
+
+	/**
+	 * Replaces the content with all points of the given series.
+	 *
+	 * @param x
+	 *            the X series
+	 * @param y
+	 *            the Y series
+	 */
+	void setAll(double[] x, double[] y) {
+
+		int length = Math.min(x.length, y.length);
+		ensureCapacity(length);
+		System.arraycopy(x, 0, xSeries, 0, length);
+		System.arraycopy(y, 0, ySeries, 0, length);
+		for(int i = 0; i < length; i++) {
+			indexes[i] = i;
+		}
+		size = length;
+		stacked = false;
+		version++;
+	}
+
+	/**
+	 * Replaces the content with the points of the given buffer.
+	 *
+	 * @param buffer
+	 *            the buffer to copy
+	 */
+	void copyFrom(CompressBuffer buffer) {
+
+		version++;
+		ensureCapacity(buffer.size);
+		System.arraycopy(buffer.xSeries, 0, xSeries, 0, buffer.size);
+		System.arraycopy(buffer.ySeries, 0, ySeries, 0, buffer.size);
+		System.arraycopy(buffer.indexes, 0, indexes, 0, buffer.size);
+		if(buffer.stacked) {
+			if(stackSeries == null || stackSeries.length < xSeries.length) {
+				stackSeries = new double[xSeries.length];
+			}
+			System.arraycopy(buffer.stackSeries, 0, stackSeries, 0, buffer.size);
+		}
+		stacked = buffer.stacked;
+		size = buffer.size;
+	}
+
+	/**
+	 * Ensures that the buffer can hold the given number of points.
+	 *
+	 * @param capacity
+	 *            the number of points
+	 */
+	void ensureCapacity(int capacity) {
+
+		if(capacity <= xSeries.length) {
+			return;
+		}
+		int newCapacity = Math.max(capacity, xSeries.length + (xSeries.length >> 1));
+		double[] newX = new double[newCapacity];
+		double[] newY = new double[newCapacity];
+		int[] newIndexes = new int[newCapacity];
+		System.arraycopy(xSeries, 0, newX, 0, size);
+		System.arraycopy(ySeries, 0, newY, 0, size);
+		System.arraycopy(indexes, 0, newIndexes, 0, size);
+		xSeries = newX;
+		ySeries = newY;
+		indexes = newIndexes;
+		if(stackSeries != null) {
+			double[] newStack = new double[newCapacity];
+			System.arraycopy(stackSeries, 0, newStack, 0, size);
+			stackSeries = newStack;
+		}
+	}
+}
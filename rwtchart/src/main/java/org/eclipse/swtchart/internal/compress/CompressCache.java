@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.compress;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+/**
+ * A least recently used cache of compressed points of one compressor, keyed by
+ * the quantized configuration they were compressed with. Going back to a
+ * recently shown range is then served from the cache instead of compressing
+ * again. The cache is bounded by the memory taken by the buffers of the cached
+ * points, including their unused capacity and a fixed cost per entry, and by
+ * the number of entries.
+ */
+public class CompressCache {
+
+	/** the default maximum memory of the cached points in bytes */
+	public static final long DEFAULT_MAX_BYTES = 512 * 1024;
+	/** the maximum number of cached entries */
+	public static final int MAX_ENTRIES = 64;
+	/** the memory of an entry apart from the backing arrays of its buffer in bytes */
+	private static final int BYTES_PER_ENTRY = 256;
+	/** the cached points in access order */
+	private final LinkedHashMap<Key, CompressBuffer> entries = new LinkedHashMap<Key, CompressBuffer>(16, 0.75f, true);
+	/** the maximum memory of the cached points in bytes */
+	private long maxBytes = DEFAULT_MAX_BYTES;
+	/** the memory of the cached points in bytes */
+	private long bytes;
+	/** a buffer no longer cached, which is handed out again instead of allocating one */
+	private CompressBuffer spare;
+	/** the number of lookups served from the cache */
+	private long hitCount;
+	/** the number of lookups not served from the cache */
+	private long missCount;
+
+	/**
+	 * Sets the maximum memory of the cached points. The least recently used
+	 * entries are evicted when it is exceeded, and 0 disables the cache.
+	 *
+	 * @param maxBytes
+	 *            the maximum memory in bytes
+	 */
+	public void setMaxBytes(long maxBytes) {
+
+		this.maxBytes = Math.max(0, maxBytes);
+		evict();
+	}
+
+	/**
+	 * Gets the maximum memory of the cached points.
+	 *
+	 * @return the maximum memory in bytes
+	 */
+	public long getMaxBytes() {
+
+		return maxBytes;
+	}
+
+	/**
+	 * Gets the memory currently taken by the cached points.
+	 *
+	 * @return the memory in bytes
+	 */
+	public long getBytes() {
+
+		return bytes;
+	}
+
+	/**
+	 * Gets the number of lookups served from the cache.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHitCount() {
+
+		return hitCount;
+	}
+
+	/**
+	 * Gets the number of lookups not served from the cache.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMissCount() {
+
+		return missCount;
+	}
+
+	/**
+	 * Checks if points compressed with the given configuration are cached,
+	 * without counting a lookup.
+	 *
+	 * @param config
+	 *            the configuration for compression
+	 * @return true if cached
+	 */
+	public boolean contains(CompressConfig config) {
+
+		return !entries.isEmpty() && entries.containsKey(new Key(config));
+	}
+
+	/**
+	 * Removes all cached points, e.g. when the source series change.
+	 */
+	public void clear() {
+
+		if(spare == null && !entries.isEmpty()) {
+			spare = entries.values().iterator().next();
+		}
+		entries.clear();
+		bytes = 0;
+	}
+
+	/**
+	 * Gets the points compressed with the given configuration.
+	 *
+	 * @param config
+	 *            the configuration for compression
+	 * @return the cached points, or null if not cached
+	 */
+	CompressBuffer get(CompressConfig config) {
+
+		if(maxBytes == 0) {
+			return null;
+		}
+		CompressBuffer buffer = entries.isEmpty() ? null : entries.get(new Key(config));
+		if(buffer == null) {
+			missCount++;
+		} else {
+			hitCount++;
+		}
+		return buffer;
+	}
+
+	/**
+	 * Stores the points compressed with the given configuration. The cache
+	 * takes over the given buffer instead of copying it, and hands out a
+	 * buffer it no longer needs in exchange, so that the points are neither
+	 * copied nor allocated once the cache is full.
+	 *
+	 * @param config
+	 *            the configuration the points were compressed with
+	 * @param points
+	 *            the compressed points, which must not be modified afterwards
+	 *            unless returned
+	 * @return the buffer to use in place of the given one, which is the given
+	 *         buffer itself if it is not cached
+	 */
+	CompressBuffer put(CompressConfig config, CompressBuffer points) {
+
+		if(maxBytes == 0) {
+			return points;
+		}
+		long size = getBytes(points);
+		if(size > maxBytes) {
+			return points;
+		}
+		Key key = new Key(config);
+		CompressBuffer replaced = entries.remove(key);
+		if(replaced != null) {
+			bytes -= getBytes(replaced);
+			recycle(replaced);
+		}
+		entries.put(key, points);
+		bytes += size;
+		evict();
+		CompressBuffer buffer = spare != null ? spare : new CompressBuffer();
+		spare = null;
+		return buffer;
+	}
+
+	/**
+	 * Evicts the least recently used entries until the cached points fit into
+	 * the maximum memory and number of entries.
+	 */
+	private void evict() {
+
+		Iterator<Entry<Key, CompressBuffer>> iterator = entries.entrySet().iterator();
+		while((bytes > maxBytes || entries.size() > MAX_ENTRIES) && iterator.hasNext()) {
+			CompressBuffer buffer = iterator.next().getValue();
+			bytes -= getBytes(buffer);
+			iterator.remove();
+			recycle(buffer);
+		}
+	}
+
+	/**
+	 * Keeps a buffer which is no longer cached to hand it out again.
+	 */
+	private void recycle(CompressBuffer buffer) {
+
+		if(spare == null || spare.capacity() < buffer.capacity()) {
+			spare = buffer;
+		}
+	}
+
+	private static long getBytes(CompressBuffer buffer) {
+
+		return buffer.getBytes() + BYTES_PER_ENTRY;
+	}
+
+	/**
+	 * The quantized configuration for compression. Range bounds are rounded to
+	 * a power of two not larger than the range per pixel, so that equal keys
+	 * imply configurations which are equal within the pixel tolerance of
+	 * {@link CompressConfig#equals(Object)}. Unlike that tolerance, the key
+	 * equality is transitive and comes with a matching hash code.
+	 */
+	static final class Key {
+
+		/** the quantized values */
+		private final long[] values;
+		/** the hash code */
+		private final int hash;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param config
+		 *            the configuration for compression
+		 */
+		Key(CompressConfig config) {
+			long width = config.getWidthInPixel();
+			long height = config.getHeightInPixel();
+			values = new long[13];
+			values[0] = width;
+			values[1] = height;
+			values[2] = (config.isXLogScale() ? 1 : 0) | (config.isYLogScale() ? 2 : 0);
+			values[3] = config.getPlotXLengthInPixel();
+			quantize(config.getXLowerValue(), config.getXUpperValue(), width, values, 4);
+			quantize(config.getYLowerValue(), config.getYUpperValue(), height, values, 7);
+			quantize(config.getPlotXLowerValue(), config.getPlotXUpperValue(), config.getPlotXLengthInPixel(), values, 10);
+			int result = 1;
+			for(long value : values) {
+				result = 31 * result + Long.hashCode(value);
+			}
+			hash = result;
+		}
+
+		/**
+		 * Stores the exponent of the quantization step and the quantized lower
+		 * and upper value of a range.
+		 */
+		private static void quantize(double lower, double upper, long pixels, long[] values, int offset) {
+
+			int exponent = Math.getExponent((upper - lower) / Math.max(1, pixels));
+			double step = Math.scalb(1.0, exponent);
+			values[offset] = exponent;
+			values[offset + 1] = Math.round(lower / step);
+			values[offset + 2] = Math.round(upper / step);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+
+			if(this == obj) {
+				return true;
+			}
+			if(!(obj instanceof Key)) {
+				return false;
+			}
+			Key key = (Key)obj;
+			return hash == key.hash && Arrays.equals(values, key.values);
+		}
+
+		@Override
+		public int hashCode() {
+
+			return hash;
+		}
+	}
+}
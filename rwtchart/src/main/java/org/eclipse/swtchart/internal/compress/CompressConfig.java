@@ -34,6 +34,12 @@ public class CompressConfig {
 	private boolean xLogScale;
 	/** the state indicating whether the Y axis is log scale */
 	private boolean yLogScale;
+	/** the lower value of X range mapped to the plot area */
+	private double plotXLowerValue;
+	/** the upper value of X range mapped to the plot area */
+	private double plotXUpperValue;
+	/** the length of X axis in pixels, or 0 if not set */
+	private long plotXLengthInPixels;
 
 	/**
 	 * Constructor.
@@ -60,6 +66,9 @@ public class CompressConfig {
 		yUpperValue = config.getYUpperValue();
 		xLogScale = config.isXLogScale();
 		yLogScale = config.isYLogScale();
+		plotXLowerValue = config.plotXLowerValue;
+		plotXUpperValue = config.plotXUpperValue;
+		plotXLengthInPixels = config.plotXLengthInPixels;
 	}
 
 	@Override
@@ -165,6 +174,55 @@ public class CompressConfig {
 		yUpperValue = upper;
 	}
 
+	/**
+	 * Sets the X range as mapped to the pixels of the plot area. Compressors
+	 * which aggregate per pixel column use it to align their columns with the
+	 * drawn pixels. If not set, the compression range and width are used.
+	 * 
+	 * @param lower
+	 *            the data coordinate at the first pixel
+	 * @param upper
+	 *            the data coordinate at the last pixel
+	 * @param length
+	 *            the length of X axis in pixels
+	 */
+	public void setPlotXRange(double lower, double upper, long length) {
+
+		plotXLowerValue = lower;
+		plotXUpperValue = upper;
+		plotXLengthInPixels = length;
+	}
+
+	/**
+	 * Gets the lower value of x range mapped to the plot area.
+	 * 
+	 * @return the lower value of x range mapped to the plot area
+	 */
+	public double getPlotXLowerValue() {
+
+		return plotXLengthInPixels > 0 ? plotXLowerValue : xLowerValue;
+	}
+
+	/**
+	 * Gets the upper value of x range mapped to the plot area.
+	 * 
+	 * @return the upper value of x range mapped to the plot area
+	 */
+	public double getPlotXUpperValue() {
+
+		return plotXLengthInPixels > 0 ? plotXUpperValue : xUpperValue;
+	}
+
+	/**
+	 * Gets the length of X axis in pixels.
+	 * 
+	 * @return the length of X axis in pixels
+	 */
+	public long getPlotXLengthInPixel() {
+
+		return plotXLengthInPixels > 0 ? plotXLengthInPixels : widthInPixels;
+	}
+
 	/**
 	 * Gets the lower value of x range.
 	 * 
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.compress;
+
+import java.util.Arrays;
+
+/**
+ * A grid of cells remembering which of them are occupied, which is reused
+ * across compressions.
+ * <p>
+ * In dense mode the cells are bits of a bitset, and the words set since the
+ * last reset are tracked so that clearing costs as much as marking did. If the
+ * bitset would be larger than a hash set of the points to mark, the grid
+ * switches to sparse mode, which stores the occupied cells in an open
+ * addressing hash set instead. Either way the memory is bounded by the smaller
+ * of the two representations, and a reset followed by marking costs time
+ * proportional to the number of points.
+ */
+class OccupancyGrid {
+
+	/** the marker of an empty slot of the hash set */
+	private static final long EMPTY = -1;
+	/** the initial capacity of the list of dirty words */
+	private static final int INITIAL_DIRTY_CAPACITY = 256;
+	/** the number of columns */
+	private int width;
+	/** the number of rows */
+	private int height;
+	/** the bits of the cells in dense mode, or null */
+	private long[] bits;
+	/** the number of words of the bitset in use */
+	private int wordCount;
+	/** the indexes of the words which became non-zero since the last reset */
+	private int[] dirtyWords = new int[INITIAL_DIRTY_CAPACITY];
+	/** the number of dirty words, or -1 if too many to be tracked */
+	private int dirtyCount;
+	/** the occupied cells in sparse mode, or null */
+	private long[] cells;
+	/** the number of occupied cells in sparse mode */
+	private int cellCount;
+
+	/**
+	 * Prepares an empty grid of the given size.
+	 *
+	 * @param width
+	 *            the number of columns
+	 * @param height
+	 *            the number of rows
+	 * @param count
+	 *            the maximum number of points to be marked
+	 */
+	void reset(int width, int height, int count) {
+
+		this.width = Math.max(1, width);
+		this.height = Math.max(1, height);
+		long words = ((long)this.width * this.height + 63) >> 6;
+		int capacity = getTableCapacity(count);
+		if(capacity < words) {
+			resetSparse(capacity);
+		} else {
+			resetDense((int)words);
+		}
+	}
+
+	/**
+	 * Checks if the grid is in sparse mode.
+	 *
+	 * @return true if the occupied cells are stored in a hash set
+	 */
+	boolean isSparse() {
+
+		return cells != null;
+	}
+
+	/**
+	 * Marks the given cell as occupied. Indexes outside the grid are clamped to
+	 * its border.
+	 *
+	 * @param column
+	 *            the column
+	 * @param row
+	 *            the row
+	 * @return true if the cell was not occupied before
+	 */
+	boolean mark(int column, int row) {
+
+		long cell = (long)clamp(column, width) * height + clamp(row, height);
+		if(cells != null) {
+			return add(cell);
+		}
+		int word = (int)(cell >> 6);
+		long bit = 1L << cell;
+		long value = bits[word];
+		if((value & bit) != 0) {
+			return false;
+		}
+		if(value == 0 && dirtyCount >= 0) {
+			if(dirtyCount == dirtyWords.length) {
+				if(dirtyCount >= wordCount >> 3) {
+					// clearing the whole bitset is cheaper from here on
+					dirtyCount = -1;
+				} else {
+					dirtyWords = Arrays.copyOf(dirtyWords, dirtyCount * 2);
+				}
+			}
+			if(dirtyCount >= 0) {
+				dirtyWords[dirtyCount++] = word;
+			}
+		}
+		bits[word] = value | bit;
+		return true;
+	}
+
+	private void resetDense(int words) {
+
+		cells = null;
+		if(bits == null || bits.length < words || bits.length > words * 4L) {
+			bits = new long[words];
+		} else if(dirtyCount < 0) {
+			Arrays.fill(bits, 0, Math.max(wordCount, words), 0);
+		} else {
+			for(int i = 0; i < dirtyCount; i++) {
+				bits[dirtyWords[i]] = 0;
+			}
+		}
+		wordCount = words;
+		dirtyCount = 0;
+	}
+
+	private void resetSparse(int capacity) {
+
+		bits = null;
+		dirtyCount = 0;
+		if(cells == null || cells.length < capacity || cells.length > capacity * 4L) {
+			cells = new long[capacity];
+		}
+		Arrays.fill(cells, EMPTY);
+		cellCount = 0;
+	}
+
+	/**
+	 * Adds a cell to the hash set.
+	 *
+	 * @return true if the cell was not contained before
+	 */
+	private boolean add(long cell) {
+
+		int mask = cells.length - 1;
+		int slot = hash(cell) & mask;
+		while(cells[slot] != EMPTY) {
+			if(cells[slot] == cell) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		cells[slot] = cell;
+		cellCount++;
+		if(cellCount * 2 > cells.length) {
+			rehash(cells.length * 2);
+		}
+		return true;
+	}
+
+	private void rehash(int capacity) {
+
+		long[] oldCells = cells;
+		cells = new long[capacity];
+		Arrays.fill(cells, EMPTY);
+		int mask = capacity - 1;
+		for(long cell : oldCells) {
+			if(cell != EMPTY) {
+				int slot = hash(cell) & mask;
+				while(cells[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				cells[slot] = cell;
+			}
+		}
+	}
+
+	/**
+	 * Gets the capacity of a hash set holding the given number of cells at a
+	 * load factor of at most one half.
+	 */
+	private static int getTableCapacity(int count) {
+
+		long capacity = 16;
+		while(capacity < 2L * count && capacity < 1 << 30) {
+			capacity <<= 1;
+		}
+		return (int)capacity;
+	}
+
+	private static int hash(long cell) {
+
+		long h = cell * 0x9E3779B97F4A7C15L;
+		return (int)(h ^ (h >>> 32));
+	}
+
+	private static int clamp(int index, int size) {
+
+		return index < 0 ? 0 : index >= size ? size - 1 : index;
+	}
+}
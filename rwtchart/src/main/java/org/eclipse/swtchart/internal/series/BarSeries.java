@@ -14,6 +14,8 @@
  *******************************************************************************/
 package org.eclipse.swtchart.internal.series;
 
+import java.util.Arrays;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.GC;
@@ -25,10 +27,14 @@ import org.eclipse.swtchart.IAxis.Direction;
 import org.eclipse.swtchart.IBarSeries;
 import org.eclipse.swtchart.Range;
 import org.eclipse.swtchart.internal.axis.Axis;
+import org.eclipse.swtchart.internal.axis.AxisTransform;
+import org.eclipse.swtchart.internal.compress.CompressAggregateBarSeries;
 import org.eclipse.swtchart.internal.compress.CompressBarSeries;
+import org.eclipse.swtchart.internal.compress.CompressBuffer;
 import org.eclipse.swtchart.internal.compress.CompressScatterSeries;
 import org.eclipse.swtchart.model.CartesianSeriesModel;
 import org.eclipse.swtchart.model.DoubleArraySeriesModel;
+import org.eclipse.swtchart.model.PrimitiveSeriesModel;
 
 /**
  * Bar series.
@@ -47,6 +53,16 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	private boolean barOverlay;
 	/** the bar width style */
 	private BarWidthStyle barWidthStyle;
+	/** the aggregation of the bars in one pixel column */
+	private AggregationType aggregationType = AggregationType.NONE;
+	/** the stack values of the top of the stacked bars, or null if not stacked */
+	private double[] stackTotalSeries;
+	/** the riser rectangles of the compressed points, reused across redraws */
+	private Rectangle[] riserBounds = new Rectangle[0];
+	/** the X pixel coordinates of the risers, reused across redraws */
+	private int[] xPixels = new int[0];
+	/** the largest extent of the risers from their points along the X axis in pixels */
+	private int riserExtent;
 	/** the initial bar width in pixels */
 	public static final int INITIAL_BAR_WIDTH = 20;
 	/** the initial bar padding in percentage */
@@ -87,6 +103,7 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	@Override
 	public void setBarWidthStyle(BarWidthStyle style) {
 
+		styleChanged();
 		this.barWidthStyle = style;
 	}
 
@@ -99,6 +116,7 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	@Override
 	public void setBarWidth(int width) {
 
+		styleChanged();
 		if(width <= 0) {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
@@ -114,6 +132,7 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	@Override
 	public void setBarPadding(int padding) {
 
+		styleChanged();
 		if(padding < 0 || padding > 100) {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
@@ -129,6 +148,7 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	@Override
 	public void setBarOverlay(boolean barOverlay) {
 
+		styleChanged();
 		this.barOverlay = barOverlay;
 	}
 
@@ -144,6 +164,7 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	@Override
 	public void setBarColor(Color color) {
 
+		styleChanged();
 		if(color != null && color.isDisposed()) {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
@@ -154,6 +175,34 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 		}
 	}
 
+	@Override
+	public AggregationType getAggregationType() {
+
+		return aggregationType;
+	}
+
+	@Override
+	public void setAggregationType(AggregationType type) {
+
+		styleChanged();
+		if(type == null) {
+			type = AggregationType.NONE;
+		}
+		if(aggregationType == type) {
+			return;
+		}
+		aggregationType = type;
+		if(getDataModel() != null) {
+			resetCompressor();
+			Axis xAxis = (Axis)chart.getAxisSet().getXAxis(xAxisId);
+			if(xAxis != null && xAxis.isValidCategoryAxis()) {
+				((SeriesSet)chart.getSeriesSet()).updateCompressor(xAxis);
+			} else {
+				((SeriesSet)chart.getSeriesSet()).compressAllSeries();
+			}
+		}
+	}
+
 	@Override
 	public Rectangle[] getBounds() {
 
@@ -163,10 +212,12 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 		}
 		double[] xSeries = getXSeries();
 		Rectangle[] rs = new Rectangle[xSeries.length];
-		double[] comporessedXSeries = compressor.getCompressedXSeries();
+		CompressBuffer compressedSeries = compressor.getCompressedSeries();
+		double[] comporessedXSeries = compressedSeries.getXSeries();
+		int size = Math.min(compressedSeries.size(), compressedBounds.length);
 		int cnt = 0;
 		for(int i = 0; i < xSeries.length; i++) {
-			if(cnt < comporessedXSeries.length && comporessedXSeries[cnt] == xSeries[i]) {
+			if(cnt < size && comporessedXSeries[cnt] == xSeries[i]) {
 				if(compressedBounds[cnt].width != 0 && compressedBounds[cnt].height != 0) {
 					rs[i] = compressedBounds[cnt];
 				}
@@ -183,26 +234,76 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	 */
 	public Rectangle[] getBoundsForCompressedSeries() {
 
+		int size = updateCompressedBounds();
+		Rectangle[] rectangles = new Rectangle[size];
+		for(int i = 0; i < size; i++) {
+			Rectangle r = riserBounds[i];
+			rectangles[i] = new Rectangle(r.x, r.y, r.width, r.height);
+		}
+		return rectangles;
+	}
+
+	/**
+	 * Updates the reused bar rectangles for compressed series.
+	 *
+	 * @return the number of valid rectangles
+	 */
+	private int updateCompressedBounds() {
+
+		return updateCompressedBounds(0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Updates the reused bar rectangles of the given compressed points.
+	 *
+	 * @param start
+	 *            the first compressed point
+	 * @param end
+	 *            the end of the compressed points, exclusive
+	 * @return the number of compressed points
+	 */
+	private int updateCompressedBounds(int start, int end) {
+
 		Axis xAxis = (Axis)chart.getAxisSet().getXAxis(xAxisId);
 		Axis yAxis = (Axis)chart.getAxisSet().getYAxis(yAxisId);
 		// get x and y series
-		double[] xseries = compressor.getCompressedXSeries();
-		double[] yseries = compressor.getCompressedYSeries();
-		int[] indexes = compressor.getCompressedIndexes();
-		if(xAxis.isValidCategoryAxis()) {
-			for(int i = 0; i < xseries.length; i++) {
-				xseries[i] = indexes[i];
+		CompressBuffer compressedSeries = compressor.getCompressedSeries();
+		int size = compressedSeries.size();
+		int[] indexes = compressedSeries.getIndexes();
+		double[] xseries = xAxis.isValidCategoryAxis() ? getCategoryXSeries(indexes, size) : compressedSeries.getXSeries();
+		double[] yseries = compressedSeries.getYSeries();
+		// aggregated points come with aggregated stack values
+		double[] stacks = compressedSeries.getStackSeries();
+		if(riserBounds.length < size) {
+			Rectangle[] bounds = new Rectangle[Math.max(size, riserBounds.length + (riserBounds.length >> 1))];
+			System.arraycopy(riserBounds, 0, bounds, 0, riserBounds.length);
+			for(int i = riserBounds.length; i < bounds.length; i++) {
+				bounds[i] = new Rectangle(0, 0, 0, 0);
 			}
+			riserBounds = bounds;
+		}
+		end = Math.min(end, size);
+		if(start == 0 && end == size) {
+			riserExtent = 0;
+		}
+		if(xPixels.length < end - start) {
+			xPixels = new int[riserBounds.length];
 		}
-		Rectangle[] rectangles = new Rectangle[xseries.length];
 		Range xRange = xAxis.getRange();
 		Range yRange = yAxis.getRange();
-		for(int i = 0; i < xseries.length; i++) {
-			int x = xAxis.getPixelCoordinate(xseries[i]);
-			int y = yAxis.getPixelCoordinate(isValidStackSeries() ? stackSeries[indexes[i]] : yseries[i]);
-			double baseYCoordinate = yAxis.getRange().lower > 0 ? yAxis.getRange().lower : 0;
-			double riserwidth = getRiserWidth(xseries, i, xAxis, xRange.lower, xRange.upper);
-			double riserHeight = Math.abs(yAxis.getPixelCoordinate(yseries[i], yRange.lower, yRange.upper) - yAxis.getPixelCoordinate(yAxis.isLogScaleEnabled() ? yRange.lower : baseYCoordinate, yRange.lower, yRange.upper));
+		AxisTransform yTransform = yAxis.getTransform();
+		xAxis.getTransform().toPixels(xseries, start, end, xPixels);
+		double baseYCoordinate = yRange.lower > 0 ? yRange.lower : 0;
+		int basePixel = yTransform.toPixel(yAxis.isLogScaleEnabled() ? yRange.lower : baseYCoordinate);
+		int zeroPixel = yTransform.toPixel(0);
+		boolean isValidStackSeries = isValidStackSeries();
+		for(int i = start; i < end; i++) {
+			int x = xPixels[i - start];
+			int y = yTransform.toPixel(isValidStackSeries ? (stacks != null ? stacks[i] : stackSeries[indexes[i]]) : yseries[i]);
+			double riserwidth = getRiserWidth(xseries, size, i, xAxis, xRange.lower, xRange.upper);
+			// the risers of multiple series share the width around the point
+			riserExtent = Math.max(riserExtent, (int)riserwidth);
+			double riserHeight = Math.abs(yTransform.toPixel(yseries[i]) - basePixel);
 			// adjust riser x coordinate and riser width for multiple series
 			int riserCnt = xAxis.getNumRisers();
 			if(riserCnt > 1 && !barOverlay) {
@@ -215,28 +316,74 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 			}
 			if(xAxis.isHorizontalAxis()) {
 				// adjust coordinate for negative series
-				if(y > yAxis.getPixelCoordinate(0)) {
-					y = yAxis.getPixelCoordinate(0);
+				if(y > zeroPixel) {
+					y = zeroPixel;
 				}
 				int width = (int)Math.ceil(riserwidth);
 				width = (width == 0) ? 1 : width;
-				rectangles[i] = getVisibleRectangle((int)Math.floor(x - riserwidth / 2d), y, width, (int)riserHeight);
+				setVisibleRectangle(riserBounds[i], (int)Math.floor(x - riserwidth / 2d), y, width, (int)riserHeight);
 			} else {
 				// adjust coordinate for negative series
-				if(y < yAxis.getPixelCoordinate(0)) {
-					y = yAxis.getPixelCoordinate(0);
+				if(y < zeroPixel) {
+					y = zeroPixel;
 				}
 				int height = (int)Math.ceil(riserwidth);
 				height = (height == 0) ? 1 : height;
-				rectangles[i] = getVisibleRectangle((int)(y - riserHeight), (int)Math.floor(x - riserwidth / 2d), (int)riserHeight, height);
+				setVisibleRectangle(riserBounds[i], (int)(y - riserHeight), (int)Math.floor(x - riserwidth / 2d), (int)riserHeight, height);
 			}
 		}
-		return rectangles;
+		return size;
 	}
 
 	/**
-	 * Gets the rectangle that is visible part of given rectangle.
+	 * Gets how far the risers extend from their points along the X axis, as
+	 * of the last time their bounds have been computed.
 	 *
+	 * @return the extent in pixels
+	 */
+	public int getRiserExtent() {
+
+		return riserExtent;
+	}
+
+	@Override
+	protected Object[] getHitIndexKey(Axis xAxis, Axis yAxis, CompressBuffer compressedSeries) {
+
+		Object[] key = super.getHitIndexKey(xAxis, yAxis, compressedSeries);
+		Object[] riserKey = new Object[]{riserIndex, xAxis.getNumRisers(), barWidthStyle, barWidth, padding, barOverlay};
+		Object[] result = Arrays.copyOf(key, key.length + riserKey.length);
+		System.arraycopy(riserKey, 0, result, key.length, riserKey.length);
+		return result;
+	}
+
+	@Override
+	protected HitIndex createHitIndex(Axis xAxis, Axis yAxis, CompressBuffer compressedSeries) {
+
+		int size = updateCompressedBounds();
+		int[] indexes = compressedSeries.getIndexes();
+		Rectangle[] rectangles = new Rectangle[size];
+		int[] dataIndexes = new int[size];
+		int count = 0;
+		for(int i = 0; i < size; i++) {
+			Rectangle r = riserBounds[i];
+			int dataIndex = getDataIndex(indexes[i]);
+			// risers outside of the plot area are not drawn
+			if(dataIndex < 0 || r.width == 0 || r.height == 0) {
+				continue;
+			}
+			rectangles[count] = r;
+			dataIndexes[count] = dataIndex;
+			count++;
+		}
+		Point plotSize = chart.getPlotArea().getSize();
+		return HitIndex.ofRectangles(rectangles, dataIndexes, count, plotSize.x, plotSize.y);
+	}
+
+	/**
+	 * Sets the rectangle to the visible part of given rectangle.
+	 *
+	 * @param rectangle
+	 *            the rectangle to set
 	 * @param x
 	 *            The x coordinate
 	 * @param y
@@ -245,9 +392,8 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	 *            the width
 	 * @param height
 	 *            The height
-	 * @return The visible rectangle
 	 */
-	private Rectangle getVisibleRectangle(int x, int y, int width, int height) {
+	private void setVisibleRectangle(Rectangle rectangle, int x, int y, int width, int height) {
 
 		final int offset = 5;
 		int newX = x;
@@ -275,7 +421,10 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 				newHeight = 0;
 			}
 		}
-		return new Rectangle(newX, newY, newWidth, newHeight);
+		rectangle.x = newX;
+		rectangle.y = newY;
+		rectangle.width = newWidth;
+		rectangle.height = newHeight;
 	}
 
 	/**
@@ -293,6 +442,12 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	protected void setCompressor() {
 
 		CartesianSeriesModel<T> dataModel = getDataModel();
+		if(aggregationType != AggregationType.NONE) {
+			compressor = new CompressAggregateBarSeries(aggregationType);
+			((CompressAggregateBarSeries)compressor).setStackSeries(stackSeries);
+			((CompressAggregateBarSeries)compressor).setStackTotalSeries(stackTotalSeries);
+			return;
+		}
 		if(dataModel instanceof DoubleArraySeriesModel) {
 			if(((DoubleArraySeriesModel)dataModel).isXMonotoneIncreasing()) {
 				compressor = new CompressBarSeries();
@@ -302,6 +457,54 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 		compressor = new CompressScatterSeries();
 	}
 
+	@Override
+	protected void setStackSeries(double[] stackSeries) {
+
+		super.setStackSeries(stackSeries);
+		if(compressor instanceof CompressAggregateBarSeries) {
+			((CompressAggregateBarSeries)compressor).setStackSeries(stackSeries);
+		}
+	}
+
+	/**
+	 * Sets the stack values of the top of the stacked bars this series is
+	 * part of, which aggregated risers are aligned by.
+	 * 
+	 * @param stackTotalSeries
+	 *            the stack values of the top of the stacked bars, which must
+	 *            not be modified afterwards
+	 */
+	void setStackTotalSeries(double[] stackTotalSeries) {
+
+		this.stackTotalSeries = stackTotalSeries;
+		if(compressor instanceof CompressAggregateBarSeries) {
+			((CompressAggregateBarSeries)compressor).setStackTotalSeries(stackTotalSeries);
+		}
+	}
+
+	@Override
+	public Range getYRange() {
+
+		Range range = super.getYRange();
+		if(!(compressor instanceof CompressAggregateBarSeries) || !compressor.isCompressed()) {
+			return range;
+		}
+		// sums of the last compression can exceed the values of the series
+		CompressBuffer compressedSeries = compressor.getCompressedSeries();
+		double[] values = isValidStackSeries() && compressedSeries.getStackSeries() != null ? compressedSeries.getStackSeries() : compressedSeries.getYSeries();
+		double sign = isInverted() ? -1 : 1;
+		for(int i = 0; i < compressedSeries.size(); i++) {
+			double value = sign * values[i];
+			if(value < range.lower) {
+				range.lower = value;
+			}
+			if(value > range.upper) {
+				range.upper = value;
+			}
+		}
+		return range;
+	}
+
 	@Override
 	public Range getAdjustedRange(Axis axis, int length) {
 
@@ -310,15 +513,17 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 		int lowerPlotMargin;
 		int upperPlotMargin;
 		if(axis.getDirection() == Direction.X) {
-			double[] xSeries = getXSeries();
+			// only the first and last two X values determine the riser widths
+			double[] xHead = getXSeriesEnd(false);
+			double[] xTail = getXSeriesEnd(true);
 			Range xRange = getXRange();
-			double lowerRiserWidth = getRiserWidth(xSeries, 0, axis, xRange.lower, xRange.upper);
-			double upperRiserWidth = getRiserWidth(xSeries, xSeries.length - 1, axis, xRange.lower, xRange.upper);
+			double lowerRiserWidth = getRiserWidth(xHead, xHead.length, 0, axis, xRange.lower, xRange.upper);
+			double upperRiserWidth = getRiserWidth(xTail, xTail.length, xTail.length - 1, axis, xRange.lower, xRange.upper);
 			lowerPlotMargin = (int)(lowerRiserWidth / 2d + MARGIN_AT_MIN_MAX_PLOT);
 			upperPlotMargin = (int)(upperRiserWidth / 2d + MARGIN_AT_MIN_MAX_PLOT);
 			range = getXRange();
 		} else {
-			range = getYRange();
+			range = getYRange(axis);
 			if(range.upper < 0) {
 				range.upper = 0;
 			}
@@ -331,11 +536,40 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 		return getRangeWithMargin(lowerPlotMargin, upperPlotMargin, length, axis, range);
 	}
 
+	/**
+	 * Gets the first or the last two X values.
+	 *
+	 * @param tail
+	 *            true to get the last values
+	 * @return the X values, less than two if the series is shorter
+	 */
+	private double[] getXSeriesEnd(boolean tail) {
+
+		CartesianSeriesModel<T> dataModel = getDataModel();
+		if(dataModel instanceof PrimitiveSeriesModel) {
+			PrimitiveSeriesModel primitiveModel = (PrimitiveSeriesModel)dataModel;
+			int size = primitiveModel.size();
+			int from = tail ? Math.max(0, size - 2) : 0;
+			int to = tail ? size : Math.min(2, size);
+			double[] values = new double[to - from];
+			primitiveModel.copyX(values, from, to);
+			return values;
+		}
+		double[] xSeries = getXSeries();
+		int from = tail ? Math.max(0, xSeries.length - 2) : 0;
+		int to = tail ? xSeries.length : Math.min(2, xSeries.length);
+		double[] values = new double[to - from];
+		System.arraycopy(xSeries, from, values, 0, values.length);
+		return values;
+	}
+
 	/**
 	 * Gets the riser width.
 	 *
 	 * @param series
 	 *            the X series
+	 * @param size
+	 *            the number of valid values in the X series
 	 * @param index
 	 *            the series index
 	 * @param xAxis
@@ -346,18 +580,18 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	 *            the max value of range
 	 * @return the raiser width in pixels
 	 */
-	private int getRiserWidth(double[] series, int index, Axis xAxis, double min, double max) {
+	private int getRiserWidth(double[] series, int size, int index, Axis xAxis, double min, double max) {
 
-		if(series.length == 0) {
+		if(size == 0) {
 			return 1;
 		}
 		// get two x coordinates
 		double upper;
 		double lower;
-		if(series.length == 1) {
+		if(size == 1) {
 			upper = series[0] + 0.5;
 			lower = series[0] - 0.5;
-		} else if(index != series.length - 1 && (index == 0 || series[index + 1] - series[index] < series[index] - series[index - 1])) {
+		} else if(index != size - 1 && (index == 0 || series[index + 1] - series[index] < series[index] - series[index - 1])) {
 			upper = series[index + 1];
 			lower = series[index];
 		} else {
@@ -403,33 +637,35 @@ public class BarSeries<T> extends Series<T> implements IBarSeries<T> {
 	protected void draw(GC gc, int width, int height, Axis xAxis, Axis yAxis) {
 
 		// draw riser
-		Rectangle[] rs = getBoundsForCompressedSeries();
-		for(int i = 0; i < rs.length; i++) {
+		int start = getDrawStart();
+		int size = updateCompressedBounds(start, getDrawEnd(Integer.MAX_VALUE));
+		int end = getDrawEnd(size);
+		Rectangle[] rs = riserBounds;
+		for(int i = start; i < end; i++) {
 			drawRiser(gc, rs[i].x, rs[i].y, rs[i].width, rs[i].height);
 		}
 		// draw label and error bars
 		if(seriesLabel.isVisible() || xErrorBar.isVisible() || yErrorBar.isVisible()) {
-			double[] xSeries = getXSeries();
-			double[] ySeries = getYSeries();
-			double[] yseries = compressor.getCompressedYSeries();
-			int[] indexes = compressor.getCompressedIndexes();
-			for(int i = 0; i < rs.length; i++) {
+			CompressBuffer compressedSeries = compressor.getCompressedSeries();
+			double[] yseries = compressedSeries.getYSeries();
+			int[] indexes = compressedSeries.getIndexes();
+			for(int i = start; i < end; i++) {
 				seriesLabel.draw(gc, rs[i].x + rs[i].width / 2, rs[i].y + rs[i].height / 2, yseries[i], indexes[i], SWT.CENTER);
 				int h, v;
 				if(xAxis.isHorizontalAxis()) {
 					if(xAxis.isCategoryEnabled()) {
 						h = rs[i].x + rs[i].width / 2;
 					} else {
-						h = xAxis.getPixelCoordinate(xSeries[indexes[i]]);
+						h = xAxis.getPixelCoordinate(getXValue(indexes[i]));
 					}
-					v = yAxis.getPixelCoordinate(ySeries[indexes[i]]);
+					v = yAxis.getPixelCoordinate(getYValue(indexes[i]));
 				} else {
 					if(xAxis.isCategoryEnabled()) {
 						v = rs[i].y + rs[i].height / 2;
 					} else {
-						v = xAxis.getPixelCoordinate(xSeries[indexes[i]]);
+						v = xAxis.getPixelCoordinate(getXValue(indexes[i]));
 					}
-					h = yAxis.getPixelCoordinate(ySeries[indexes[i]]);
+					h = yAxis.getPixelCoordinate(getYValue(indexes[i]));
 				}
 				xErrorBar.draw(gc, h, v, xAxis, indexes[i]);
 				yErrorBar.draw(gc, h, v, yAxis, indexes[i]);
@@ -23,6 +23,7 @@ import org.eclipse.swtchart.IAxis;
 import org.eclipse.swtchart.ICircularSeries;
 import org.eclipse.swtchart.internal.axis.Axis;
 import org.eclipse.swtchart.internal.compress.Compress;
+import org.eclipse.swtchart.internal.compress.CompressBuffer;
 import org.eclipse.swtchart.internal.compress.CompressCircularSeries;
 import org.eclipse.swtchart.model.IdNodeDataModel;
 import org.eclipse.swtchart.model.Node;
@@ -246,6 +247,13 @@ public abstract class CircularSeries extends Series implements ICircularSeries {
 		this.highlightColor = color;
 	}
 
+	@Override
+	protected HitIndex createHitIndex(Axis xAxis, Axis yAxis, CompressBuffer compressedSeries) {
+
+		// slices are found by getPieSliceFromPosition(), not by their nearest point
+		return null;
+	}
+
 	@Override
 	protected void draw(GC gc, int width, int height, Axis xAxis, Axis yAxis) {
 
@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.series;
+
+import org.eclipse.swt.graphics.Rectangle;
+
+/**
+ * An index of the drawn points or risers of a series in pixel coordinates, which finds the one nearest to a pixel position.
+ * <p>
+ * Points whose coordinates along the X axis are monotonic, as for line series over sorted X values, are found by binary search
+ * on that coordinate and by visiting the neighbours only while they can still be nearer. Otherwise the items are distributed
+ * into a grid of square cells covering the plot area, and the cells are visited in rings around the position until no
+ * unvisited cell can hold a nearer item. Items outside the plot area are assigned to the cells at its border.
+ */
+class HitIndex
+{
+   /** the side length of a grid cell in pixels */
+   static final int CELL_SIZE = 16;
+
+   /** the number of items */
+   private final int count;
+   /** the left edges of the items, inclusive */
+   private final int[] left;
+   /** the top edges of the items, inclusive */
+   private final int[] top;
+   /** the right edges of the items, inclusive */
+   private final int[] right;
+   /** the bottom edges of the items, inclusive */
+   private final int[] bottom;
+   /** the series index of each item */
+   private final int[] dataIndexes;
+   /** the coordinate along the X axis of each point multiplied by its direction, or null if the grid is used */
+   private int[] along;
+   /** the state indicating if the X axis is horizontal */
+   private boolean horizontal;
+   /** the direction of the coordinates along the X axis, 1 if ascending or -1 if descending */
+   private int direction;
+   /** the number of grid columns */
+   private int columns;
+   /** the number of grid rows */
+   private int rows;
+   /** the position of the first item of each cell in the cell items, and the end of the last cell */
+   private int[] cellStart;
+   /** the items of all cells */
+   private int[] cellItems;
+
+   /**
+    * Constructor.
+    *
+    * @param left the left edges of the items
+    * @param top the top edges of the items
+    * @param right the right edges of the items
+    * @param bottom the bottom edges of the items
+    * @param dataIndexes the series index of each item
+    * @param count the number of items
+    */
+   private HitIndex(int[] left, int[] top, int[] right, int[] bottom, int[] dataIndexes, int count)
+   {
+      this.left = left;
+      this.top = top;
+      this.right = right;
+      this.bottom = bottom;
+      this.dataIndexes = dataIndexes;
+      this.count = count;
+   }
+
+   /**
+    * Creates an index of points.
+    *
+    * @param x the horizontal pixel coordinates
+    * @param y the vertical pixel coordinates
+    * @param dataIndexes the series index of each point
+    * @param count the number of points
+    * @param horizontal true if the X axis is horizontal
+    * @param width the plot area width
+    * @param height the plot area height
+    * @return the index
+    */
+   static HitIndex ofPoints(int[] x, int[] y, int[] dataIndexes, int count, boolean horizontal, int width, int height)
+   {
+      HitIndex index = new HitIndex(x, y, x, y, dataIndexes, count);
+      int[] coordinates = horizontal ? x : y;
+      int direction = getDirection(coordinates, count);
+      if (direction != 0)
+      {
+         index.horizontal = horizontal;
+         index.direction = direction;
+         index.along = new int[count];
+         for(int i = 0; i < count; i++)
+         {
+            index.along[i] = coordinates[i] * direction;
+         }
+      }
+      else
+      {
+         index.buildGrid(width, height);
+      }
+      return index;
+   }
+
+   /**
+    * Creates an index of rectangles.
+    *
+    * @param rectangles the rectangles
+    * @param dataIndexes the series index of each rectangle
+    * @param count the number of rectangles
+    * @param width the plot area width
+    * @param height the plot area height
+    * @return the index
+    */
+   static HitIndex ofRectangles(Rectangle[] rectangles, int[] dataIndexes, int count, int width, int height)
+   {
+      int[] left = new int[count];
+      int[] top = new int[count];
+      int[] right = new int[count];
+      int[] bottom = new int[count];
+      for(int i = 0; i < count; i++)
+      {
+         Rectangle r = rectangles[i];
+         left[i] = r.x;
+         top[i] = r.y;
+         right[i] = r.x + Math.max(r.width, 1) - 1;
+         bottom[i] = r.y + Math.max(r.height, 1) - 1;
+      }
+      HitIndex index = new HitIndex(left, top, right, bottom, dataIndexes, count);
+      index.buildGrid(width, height);
+      return index;
+   }
+
+   /**
+    * Gets the number of items.
+    *
+    * @return the number of items
+    */
+   int size()
+   {
+      return count;
+   }
+
+   /**
+    * Gets the series index of the given item.
+    *
+    * @param item the item
+    * @return the series index
+    */
+   int getDataIndex(int item)
+   {
+      return dataIndexes[item];
+   }
+
+   /**
+    * Gets the horizontal center of the given item.
+    *
+    * @param item the item
+    * @return the horizontal pixel coordinate
+    */
+   int getX(int item)
+   {
+      return (left[item] + right[item]) / 2;
+   }
+
+   /**
+    * Gets the vertical center of the given item.
+    *
+    * @param item the item
+    * @return the vertical pixel coordinate
+    */
+   int getY(int item)
+   {
+      return (top[item] + bottom[item]) / 2;
+   }
+
+   /**
+    * Gets the distance from the given position to the given item, which is 0 if the item covers the position.
+    *
+    * @param item the item
+    * @param x the horizontal pixel coordinate
+    * @param y the vertical pixel coordinate
+    * @return the distance in pixels
+    */
+   double getDistance(int item, int x, int y)
+   {
+      long dx = x < left[item] ? left[item] - x : (x > right[item] ? x - right[item] : 0);
+      long dy = y < top[item] ? top[item] - y : (y > bottom[item] ? y - bottom[item] : 0);
+      return Math.sqrt(dx * dx + dy * dy);
+   }
+
+   /**
+    * Finds the item nearest to the given position. Of items at the same distance, the one found first is returned.
+    *
+    * @param x the horizontal pixel coordinate
+    * @param y the vertical pixel coordinate
+    * @param maxDistance the maximum distance in pixels
+    * @return the item, or -1 if no item is within the maximum distance
+    */
+   int find(int x, int y, double maxDistance)
+   {
+      return along != null ? findAlong(x, y, maxDistance) : findInGrid(x, y, maxDistance);
+   }
+
+   /**
+    * Finds the nearest point by binary search on the coordinate along the X axis.
+    */
+   private int findAlong(int x, int y, double maxDistance)
+   {
+      int key = (horizontal ? x : y) * direction;
+      int low = 0;
+      int high = count;
+      while(low < high)
+      {
+         int middle = (low + high) >>> 1;
+         if (along[middle] < key)
+            low = middle + 1;
+         else
+            high = middle;
+      }
+      int result = -1;
+      double best = maxDistance;
+      // points further along the X axis than the best distance cannot be nearer
+      for(int i = low; i < count && along[i] - key <= best; i++)
+      {
+         double distance = getDistance(i, x, y);
+         if (distance < best || (result < 0 && distance <= best))
+         {
+            best = distance;
+            result = i;
+         }
+      }
+      for(int i = low - 1; i >= 0 && key - along[i] <= best; i--)
+      {
+         double distance = getDistance(i, x, y);
+         if (distance < best || (result < 0 && distance <= best))
+         {
+            best = distance;
+            result = i;
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Finds the nearest item by visiting the grid cells in rings around the position.
+    */
+   private int findInGrid(int x, int y, double maxDistance)
+   {
+      int column = getCell(x, columns);
+      int row = getCell(y, rows);
+      int result = -1;
+      double best = maxDistance;
+      int maxRing = Math.max(columns, rows);
+      for(int ring = 0; ring <= maxRing; ring++)
+      {
+         for(int r = row - ring; r <= row + ring; r++)
+         {
+            if (r < 0 || r >= rows)
+               continue;
+            // inner rows of the ring only have cells at its left and right end
+            int step = (r == row - ring || r == row + ring) ? 1 : Math.max(2 * ring, 1);
+            for(int c = column - ring; c <= column + ring; c += step)
+            {
+               if (c < 0 || c >= columns)
+                  continue;
+               int cell = r * columns + c;
+               for(int i = cellStart[cell]; i < cellStart[cell + 1]; i++)
+               {
+                  int item = cellItems[i];
+                  double distance = getDistance(item, x, y);
+                  if (distance < best || (distance == best && (result < 0 || item < result)))
+                  {
+                     best = distance;
+                     result = item;
+                  }
+               }
+            }
+         }
+         // the cells outside the ring are more than its width away from the position
+         if ((long)ring * CELL_SIZE >= best)
+         {
+            break;
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Distributes the items into the grid cells they overlap.
+    */
+   private void buildGrid(int width, int height)
+   {
+      columns = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+      rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+      cellStart = new int[columns * rows + 1];
+      for(int i = 0; i < count; i++)
+      {
+         for(int r = getCell(top[i], rows); r <= getCell(bottom[i], rows); r++)
+         {
+            for(int c = getCell(left[i], columns); c <= getCell(right[i], columns); c++)
+            {
+               cellStart[r * columns + c + 1]++;
+            }
+         }
+      }
+      for(int cell = 0; cell < columns * rows; cell++)
+      {
+         cellStart[cell + 1] += cellStart[cell];
+      }
+      cellItems = new int[cellStart[columns * rows]];
+      int[] position = new int[columns * rows];
+      for(int i = 0; i < count; i++)
+      {
+         for(int r = getCell(top[i], rows); r <= getCell(bottom[i], rows); r++)
+         {
+            for(int c = getCell(left[i], columns); c <= getCell(right[i], columns); c++)
+            {
+               int cell = r * columns + c;
+               cellItems[cellStart[cell] + position[cell]++] = i;
+            }
+         }
+      }
+   }
+
+   /**
+    * Gets the grid cell of the given coordinate, clamped to the grid.
+    */
+   private static int getCell(int coordinate, int cells)
+   {
+      int cell = coordinate < 0 ? 0 : coordinate / CELL_SIZE;
+      return cell >= cells ? cells - 1 : cell;
+   }
+
+   /**
+    * Gets the direction of the given coordinates.
+    *
+    * @return 1 if non-decreasing, -1 if non-increasing, or 0 if neither
+    */
+   private static int getDirection(int[] coordinates, int count)
+   {
+      boolean ascending = true;
+      boolean descending = true;
+      for(int i = 1; i < count && (ascending || descending); i++)
+      {
+         ascending &= coordinates[i] >= coordinates[i - 1];
+         descending &= coordinates[i] <= coordinates[i - 1];
+      }
+      return ascending ? 1 : (descending ? -1 : 0);
+   }
+}
@@ -14,24 +14,33 @@
  *******************************************************************************/
 package org.eclipse.swtchart.internal.series;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.DisposeEvent;
 import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swtchart.Chart;
 import org.eclipse.swtchart.IAxis;
 import org.eclipse.swtchart.IAxis.Direction;
 import org.eclipse.swtchart.ISeries;
 import org.eclipse.swtchart.ISeries.SeriesType;
 import org.eclipse.swtchart.ISeriesSet;
+import org.eclipse.swtchart.PointHit;
 import org.eclipse.swtchart.Range;
 import org.eclipse.swtchart.internal.axis.Axis;
 import org.eclipse.swtchart.internal.compress.CompressConfig;
@@ -47,6 +56,22 @@ public class SeriesSet implements ISeriesSet
    private final Chart chart;
    /** the series */
    private LinkedHashMap<String, Series<?>> seriesMap;
+   /** the generation of compression, incremented whenever all series are compressed again */
+   private final AtomicInteger compressGeneration = new AtomicInteger();
+   /** the background compression job */
+   private Future<?> compressJob;
+   /** the engines stacking time series, per pair of axes */
+   private final Map<Long, StackEngine> stackEngines = new HashMap<Long, StackEngine>();
+   /** the nesting depth of bulk updates */
+   private int updateDepth;
+   /** the state indicating if stacking is pending until the bulk update is committed */
+   private boolean stackPending;
+   /** the state indicating if the layout is pending until the bulk update is committed */
+   private boolean layoutPending;
+   /** the state indicating if compressing all series is pending until the bulk update is committed */
+   private boolean compressPending;
+   /** the axes whose range adjustment is pending until the bulk update is committed, with the update flag */
+   private final Map<Axis, Boolean> pendingRangeAdjustments = new LinkedHashMap<Axis, Boolean>();
 
    /**
     * Constructor.
@@ -121,7 +146,7 @@ public class SeriesSet implements ISeriesSet
       }
 
       // legend will be shown if there is previously no series.
-      chart.updateLayout();
+      updateLayout();
 
       return series;
    }
@@ -159,7 +184,7 @@ public class SeriesSet implements ISeriesSet
       updateStackAndRiserData();
 
       // legend will be hidden if this is the last series
-      chart.updateLayout();
+      updateLayout();
    }
 
    @Override
@@ -192,7 +217,7 @@ public class SeriesSet implements ISeriesSet
       seriesMap = newSeriesMap;
 
       updateStackAndRiserData();
-      chart.updateLayout();
+      updateLayout();
    }
 
    @Override
@@ -204,7 +229,7 @@ public class SeriesSet implements ISeriesSet
       seriesMap.put(series.getId(), series);
 
       updateStackAndRiserData();
-      chart.updateLayout();
+      updateLayout();
    }
 
    @Override
@@ -229,7 +254,7 @@ public class SeriesSet implements ISeriesSet
       seriesMap = newSeriesMap;
 
       updateStackAndRiserData();
-      chart.updateLayout();
+      updateLayout();
    }
 
    @Override
@@ -249,6 +274,120 @@ public class SeriesSet implements ISeriesSet
       seriesMap = newSeriesMap;
 
       updateStackAndRiserData();
+      updateLayout();
+   }
+
+   /**
+    * @see org.eclipse.swtchart.ISeriesSet#getNearestPoint(int, int, int)
+    */
+   @Override
+   public PointHit getNearestPoint(int x, int y, int maxDistance)
+   {
+      PointHit nearest = null;
+      for(Series<?> series : seriesMap.values())
+      {
+         PointHit hit = series.getNearestPoint(x, y, maxDistance);
+         // series drawn later are on top, so they win ties
+         if (hit != null && (nearest == null || hit.getDistance() <= nearest.getDistance()))
+            nearest = hit;
+      }
+      return nearest;
+   }
+
+   /**
+    * @see org.eclipse.swtchart.ISeriesSet#getNearestPoints(int, int, int)
+    */
+   @Override
+   public PointHit[] getNearestPoints(int x, int y, int maxDistance)
+   {
+      List<PointHit> hits = new ArrayList<PointHit>();
+      for(Series<?> series : seriesMap.values())
+      {
+         PointHit hit = series.getNearestPoint(x, y, maxDistance);
+         if (hit != null)
+            hits.add(hit);
+      }
+      hits.sort(Comparator.comparingDouble(PointHit::getDistance));
+      return hits.toArray(new PointHit[hits.size()]);
+   }
+
+   /**
+    * @see org.eclipse.swtchart.ISeriesSet#beginUpdate()
+    */
+   @Override
+   public void beginUpdate()
+   {
+      updateDepth++;
+   }
+
+   /**
+    * @see org.eclipse.swtchart.ISeriesSet#commit()
+    */
+   @Override
+   public void commit()
+   {
+      if (updateDepth == 0 || --updateDepth > 0)
+         return;
+
+      // the ranges are adjusted to the stacked series, and the layout depends on the ranges
+      if (stackPending)
+      {
+         stackPending = false;
+         updateStackAndRiserData();
+      }
+      if (!pendingRangeAdjustments.isEmpty())
+      {
+         List<Entry<Axis, Boolean>> adjustments = new ArrayList<Entry<Axis, Boolean>>(pendingRangeAdjustments.entrySet());
+         pendingRangeAdjustments.clear();
+         for(Entry<Axis, Boolean> adjustment : adjustments)
+         {
+            adjustment.getKey().adjustRange(false);
+            layoutPending |= adjustment.getValue();
+         }
+      }
+      if (layoutPending)
+      {
+         layoutPending = false;
+         chart.updateLayout();
+      }
+      if (compressPending)
+      {
+         compressPending = false;
+         compressAllSeries();
+      }
+   }
+
+   /**
+    * Gets the state indicating if a bulk update is in progress.
+    * 
+    * @return true if a bulk update is in progress
+    */
+   public boolean isUpdating()
+   {
+      return updateDepth > 0;
+   }
+
+   /**
+    * Defers adjusting the range of the given axis until the bulk update is committed.
+    * 
+    * @param axis the axis
+    * @param update true if updating chart layout
+    */
+   public void deferRangeAdjustment(Axis axis, boolean update)
+   {
+      pendingRangeAdjustments.merge(axis, update, Boolean::logicalOr);
+   }
+
+   /**
+    * Updates the layout of the chart, or defers it until the bulk update is committed.
+    */
+   private void updateLayout()
+   {
+      if (updateDepth > 0)
+      {
+         layoutPending = true;
+         return;
+      }
       chart.updateLayout();
    }
 
@@ -257,6 +396,7 @@ public class SeriesSet implements ISeriesSet
     */
    public void dispose()
    {
+      cancelBackgroundCompression();
       for(Entry<String, Series<?>> entry : seriesMap.entrySet())
       {
          entry.getValue().dispose();
@@ -288,11 +428,26 @@ public class SeriesSet implements ISeriesSet
     */
    public void compressAllSeries()
    {
+      if (updateDepth > 0)
+      {
+         compressPending = true;
+         return;
+      }
+      if (chart.isUpdateDeferred())
+      {
+         chart.scheduleUpdate(Chart.UPDATE_DATA);
+         return;
+      }
+      int generation = cancelBackgroundCompression();
       if (!chart.isCompressEnabled())
       {
          return;
       }
 
+      List<ICompress> compressors = new ArrayList<ICompress>();
+      List<ICompress> copies = new ArrayList<ICompress>();
+      List<CompressConfig> configs = new ArrayList<CompressConfig>();
+
       try
       {
          CompressConfig config = new CompressConfig();
@@ -330,6 +485,15 @@ public class SeriesSet implements ISeriesSet
                lower = ((Series<?>)series).getXRange().lower;
             }
             config.setXRange(lower, upper);
+            int xLength = ((Axis)xAxis).isHorizontalAxis() ? p.x : p.y;
+            if (((Axis)xAxis).isValidCategoryAxis())
+            {
+               config.setPlotXRange(xMin - 0.5, xMax + 0.5, xLength);
+            }
+            else
+            {
+               config.setPlotXRange(xMin, xMax, xLength);
+            }
             lower = yMin - (yMax - yMin) * 0.015;
             upper = yMax + (yMax - yMin) * 0.015;
             if (yAxis.isLogScaleEnabled())
@@ -338,12 +502,146 @@ public class SeriesSet implements ISeriesSet
             }
             config.setYRange(lower, upper);
             ICompress compressor = ((Series<?>)series).getCompressor();
-            compressor.compress(config);
+            compressor.getCache().setMaxBytes(chart.getCompressCacheSize());
+            if (compressor.isCompressed(config))
+            {
+               // neither the series nor the size, ranges and scales it is compressed for have changed
+               continue;
+            }
+            if (chart.isAsyncCompressEnabled() && compressor.isCompressed() && !compressor.getCache().contains(config))
+            {
+               // only the range or size has changed, so the current points are drawn until the new ones are ready
+               compressors.add(compressor);
+               copies.add(compressor.copy());
+               configs.add(new CompressConfig(config));
+            }
+            else
+            {
+               compressor.compress(config);
+            }
          }
       }
       catch(Exception e)
       {
       }
+
+      if (!compressors.isEmpty())
+      {
+         compressInBackground(generation, compressors, copies, configs);
+      }
+   }
+
+   /**
+    * Gets the number of compressions of all series which have been served from the compression cache.
+    * 
+    * @return the number of cache hits
+    */
+   public long getCompressCacheHitCount()
+   {
+      long count = 0;
+      for(Series<?> series : seriesMap.values())
+      {
+         if (series.getCompressor() != null)
+         {
+            count += series.getCompressor().getCache().getHitCount();
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Gets the number of compressions of all series which have not been served from the compression cache.
+    * 
+    * @return the number of cache misses
+    */
+   public long getCompressCacheMissCount()
+   {
+      long count = 0;
+      for(Series<?> series : seriesMap.values())
+      {
+         if (series.getCompressor() != null)
+         {
+            count += series.getCompressor().getCache().getMissCount();
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Cancels the background compression, if any. A job which is already running skips its remaining series and does not
+    * publish its result.
+    * 
+    * @return the new compression generation
+    */
+   private int cancelBackgroundCompression()
+   {
+      int generation = compressGeneration.incrementAndGet();
+      if (compressJob != null)
+      {
+         compressJob.cancel(false);
+         compressJob = null;
+      }
+      return generation;
+   }
+
+   /**
+    * Compresses copies of the given compressors in parallel on the common fork/join pool. Once all of them are done, the
+    * results are handed over to the compressors at once on the UI thread and the chart is redrawn, unless a newer compression
+    * has been started in the meantime.
+    * 
+    * @param generation the compression generation
+    * @param compressors the compressors used for drawing
+    * @param copies the copies of the compressors to compress in the background
+    * @param configs the configuration for each copy
+    */
+   private void compressInBackground(int generation, List<ICompress> compressors, List<ICompress> copies, List<CompressConfig> configs)
+   {
+      Display display = chart.getDisplay();
+      boolean[] compressed = new boolean[copies.size()];
+      compressJob = ForkJoinPool.commonPool().submit(() -> {
+         IntStream.range(0, copies.size()).parallel().forEach(i -> {
+            if (compressGeneration.get() != generation)
+            {
+               return;
+            }
+            try
+            {
+               compressed[i] = copies.get(i).compress(configs.get(i));
+            }
+            catch(Exception e)
+            {
+            }
+         });
+         if (compressGeneration.get() != generation || display.isDisposed())
+         {
+            return;
+         }
+         try
+         {
+            display.asyncExec(() -> {
+               if (chart.isDisposed() || compressGeneration.get() != generation)
+               {
+                  return;
+               }
+               boolean changed = false;
+               for(int i = 0; i < compressed.length; i++)
+               {
+                  if (compressed[i] && compressors.get(i).adopt(copies.get(i)))
+                  {
+                     changed = true;
+                  }
+               }
+               if (changed)
+               {
+                  chart.redraw();
+               }
+            });
+         }
+         catch(SWTException e)
+         {
+            // display has been disposed in the meantime
+         }
+      });
    }
 
    /**
@@ -377,16 +675,31 @@ public class SeriesSet implements ISeriesSet
             {
                xSeries[i] = i;
             }
-            compressor.setXSeries(xSeries);
+            setXSeries(compressor, xSeries);
          }
-         else if (((Series<?>)series).getXSeries() != null)
+         else
          {
-            compressor.setXSeries(((Series<?>)series).getXSeries());
+            double[] stackedXSeries = ((Series<?>)series).getStackedXSeries();
+            setXSeries(compressor, stackedXSeries != null ? stackedXSeries : ((Series<?>)series).getXSeries());
          }
       }
       compressAllSeries();
    }
 
+   /**
+    * Sets the X series of the given compressor, unless it already has the same values, which would discard its compressed points.
+    * 
+    * @param compressor the compressor
+    * @param xSeries the X series
+    */
+   private static void setXSeries(ICompress compressor, double[] xSeries)
+   {
+      if (!Arrays.equals(compressor.getOriginalXSeries(), xSeries))
+      {
+         compressor.setXSeries(xSeries);
+      }
+   }
+
    /**
     * Updates the stack and riser data.
     */
@@ -396,6 +709,16 @@ public class SeriesSet implements ISeriesSet
       {
          return;
       }
+      if (updateDepth > 0)
+      {
+         stackPending = true;
+         return;
+      }
+      if (chart.isUpdateDeferred())
+      {
+         chart.scheduleUpdate(Chart.UPDATE_STACK);
+         return;
+      }
       for(IAxis xAxis : chart.getAxisSet().getXAxes())
       {
          ((Axis)xAxis).setNumRisers(0);
@@ -412,7 +735,6 @@ public class SeriesSet implements ISeriesSet
     * @param xAxis the X axis
     * @param yAxis the Y axis
     */
-   @SuppressWarnings("deprecation")
    private void updateStackAndRiserData(IAxis xAxis, IAxis yAxis)
    {
       int riserCnt = 0;
@@ -420,6 +742,7 @@ public class SeriesSet implements ISeriesSet
       double[] stackBarSeries = null;
       double[] stackLineSeries = null;
       double[] invertedStackLineSeries = null;
+      List<BarSeries<?>> stackedBarSeries = new ArrayList<BarSeries<?>>();
 
       if (((Axis)xAxis).isValidCategoryAxis())
       {
@@ -431,77 +754,38 @@ public class SeriesSet implements ISeriesSet
             stackLineSeries = new double[size];
             invertedStackLineSeries = new double[size];
          }
+         for(ISeries<?> series : getSeries())
+         {
+            if (series.getXAxisId() == xAxis.getId() && series.getYAxisId() == yAxis.getId())
+               ((Series<?>)series).clearStackedSeries();
+         }
+         stackEngines.remove(getAxisPairKey(xAxis, yAxis));
       }
       else
       {
-         // Build combined time series
-         // Time stamps in series are reversed - latest value first
-         List<Date> combinedTimeSeries = new ArrayList<Date>();
+         // Put the stacked series of these axes on a combined time line, leaving their data models unchanged. The engine
+         // keeps the time line and the stacks of the line series, so that appended points and visibility changes only
+         // update the affected part.
+         List<Series<?>> stackedSeries = new ArrayList<Series<?>>();
          for(ISeries<?> series : getSeries())
          {
-            if (!series.isStackEnabled())
+            if (series.getXAxisId() != xAxis.getId() || series.getYAxisId() != yAxis.getId())
                continue;
 
-            for(Date d : series.getXDateSeries())
-            {
-               int i;
-               for(i = 0; i < combinedTimeSeries.size(); i++)
-               {
-                  if (combinedTimeSeries.get(i).getTime() == d.getTime())
-                     break;                 
-                  if (combinedTimeSeries.get(i).getTime() < d.getTime())
-                  {
-                     combinedTimeSeries.add(i, d);
-                     break;
-                  }
-               }
-               if (i == combinedTimeSeries.size())
-                  combinedTimeSeries.add(d);
-            }
-         }         
-         
-         // insert missing values
-         for(ISeries<?> series : getSeries())
+            if (series.isStackEnabled() && !yAxis.isLogScaleEnabled())
+               stackedSeries.add((Series<?>)series);
+            else
+               ((Series<?>)series).clearStackedSeries();
+         }
+         Long key = getAxisPairKey(xAxis, yAxis);
+         if (stackedSeries.isEmpty())
          {
-            if (!series.isStackEnabled())
-               continue;
-
-            double[] ySeries = new double[combinedTimeSeries.size()];
-            int combinedIndex = 0;
-            double lastValue = 0;
-            long lastTimestamp = 0;
-            for(int i = 0; i < series.getYSeries().length; i++)
-            {
-               Date currentTimestamp = series.getXDateSeries()[i];
-               double currentValue = series.getYSeries()[i];
-               long currentCombinedTimestamp = combinedTimeSeries.get(combinedIndex).getTime();
-               while(currentCombinedTimestamp > currentTimestamp.getTime())
-               {
-                  if (lastTimestamp != 0)
-                  {
-                     // do linear interpolation for missed value
-                     ySeries[combinedIndex] = lastValue + (currentValue - lastValue) * ((double)(lastTimestamp - currentCombinedTimestamp) / (double)(lastTimestamp - currentTimestamp.getTime()));
-                  }
-                  else
-                  {
-                     ySeries[combinedIndex] = currentValue;
-                  }
-                  combinedIndex++;
-                  currentCombinedTimestamp = combinedTimeSeries.get(combinedIndex).getTime();
-               }
-               ySeries[combinedIndex++] = currentValue;
-               lastTimestamp = currentTimestamp.getTime();
-               lastValue = currentValue;
-            }
-            while(combinedIndex < ySeries.length)
-               ySeries[combinedIndex++] = lastValue;
-
-            series.setXDateSeries(combinedTimeSeries.toArray(new Date[combinedTimeSeries.size()]));
-            series.setYSeries(ySeries);
-         }            
-
-         stackLineSeries = new double[combinedTimeSeries.size()];
-         invertedStackLineSeries = new double[combinedTimeSeries.size()];
+            stackEngines.remove(key);
+         }
+         else
+         {
+            stackEngines.computeIfAbsent(key, k -> new StackEngine()).update(stackedSeries);
+         }
       }
 
       for(ISeries<?> series : getSeries())
@@ -522,6 +806,7 @@ public class SeriesSet implements ISeriesSet
                }
                ((BarSeries<?>)series).setRiserIndex(((Axis)xAxis).getNumRisers() + stackRiserPosition);
                setStackSeries(stackBarSeries, series);
+               stackedBarSeries.add((BarSeries<?>)series);
             }
             else if (series.getType() == SeriesType.LINE)
             {
@@ -539,9 +824,30 @@ public class SeriesSet implements ISeriesSet
          }
       }
 
+      // the aggregated risers of all stacked bar series are taken from where the whole stack is highest
+      if (stackBarSeries != null)
+      {
+         for(BarSeries<?> series : stackedBarSeries)
+         {
+            series.setStackTotalSeries(stackBarSeries);
+         }
+      }
+
       ((Axis)xAxis).setNumRisers(((Axis)xAxis).getNumRisers() + riserCnt);
    }
 
+   /**
+    * Gets the key of the given pair of axes.
+    *
+    * @param xAxis the X axis
+    * @param yAxis the Y axis
+    * @return the key
+    */
+   private static Long getAxisPairKey(IAxis xAxis, IAxis yAxis)
+   {
+      return ((long)xAxis.getId() << 32) | (yAxis.getId() & 0xFFFFFFFFL);
+   }
+
    /**
     * Sets the stack series.
     * 
@@ -550,7 +856,9 @@ public class SeriesSet implements ISeriesSet
     */
    private static void setStackSeries(double[] stackSeries, ISeries<?> series)
    {
-      double[] ySeries = series.getYSeries();
+      double[] ySeries = ((Series<?>)series).getStackedYSeries();
+      if (ySeries == null)
+         ySeries = series.getYSeries();
       if (ySeries == null || stackSeries == null)
          return;
 
@@ -562,7 +870,7 @@ public class SeriesSet implements ISeriesSet
          }
          // Both normal and inverted series contribute positively to their respective stacks
          // The visual inversion is handled during rendering, not in stack calculation
-         stackSeries[i] = BigDecimal.valueOf(stackSeries[i]).add(BigDecimal.valueOf(ySeries[i])).doubleValue();
+         stackSeries[i] += ySeries[i];
       }
       double[] copiedStackSeries = new double[stackSeries.length];
       System.arraycopy(stackSeries, 0, copiedStackSeries, 0, stackSeries.length);
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.series;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+
+/**
+ * A cache of symbols rendered once into images with transparency.
+ * <p>
+ * RAP cannot draw into images, so no symbol is cached and the symbols are drawn as shapes.
+ */
+class SymbolSprites
+{
+   /**
+    * Gets the image of a symbol, rendering it if it is not cached.
+    *
+    * @param device the device
+    * @param key the symbol style, which identifies the image
+    * @param width the image width
+    * @param height the image height
+    * @param renderer the renderer drawing the symbol with the given graphics context
+    * @return the image, or null if symbols cannot be rendered into images
+    */
+   Image get(Device device, List<Object> key, int width, int height, Consumer<GC> renderer)
+   {
+      return null;
+   }
+
+   /**
+    * Gets the image of a symbol if it is cached.
+    *
+    * @param key the symbol style, which identifies the image
+    * @return the image, or null if it is not cached
+    */
+   Image find(List<Object> key)
+   {
+      return null;
+   }
+
+   /**
+    * Disposes all cached images.
+    */
+   void clear()
+   {
+   }
+}
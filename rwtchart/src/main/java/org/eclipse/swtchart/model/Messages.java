@@ -22,6 +22,8 @@ public class Messages {
 	private static final ResourceBundle RESOURCE_BUNDLE = ResourceBundle.getBundle(BUNDLE_NAME);
 	
 	public static final String X_Y_LENGTH_DOESNT_MATCH = "X_Y_LENGTH_DOESNT_MATCH";
+	public static final String INVALID_CAPACITY = "INVALID_CAPACITY";
+	public static final String TIME_NOT_ASCENDING = "TIME_NOT_ASCENDING";
 
 	private Messages() {
 
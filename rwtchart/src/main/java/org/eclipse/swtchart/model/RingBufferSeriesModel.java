@@ -0,0 +1,571 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+/**
+ * A fixed capacity series model for live data. Samples are appended at the
+ * newest end and the oldest samples are evicted when the capacity is exceeded
+ * or when they fall out of the configured time window.
+ * <p>
+ * Items are ordered by time, index 0 being the oldest retained sample. Minimum
+ * and maximum are maintained in monotonic queues and the average from a running
+ * sum, so both ingestion and the statistic getters are O(1) (amortized).
+ * The minimum and maximum within an index range are found in a tree over the
+ * ring, which is updated in O(log n) on every append and eviction, so that
+ * they are found without rebuilding a pyramid after every append.
+ * NaN values, as for gaps in live data, are retained but left out of the
+ * minimum, maximum and average.
+ */
+public class RingBufferSeriesModel implements PrimitiveSeriesModel {
+
+	/** the time stamps, in milliseconds */
+	private final long[] times;
+	/** the values */
+	private final double[] values;
+	/** the sequence number of the oldest retained sample */
+	private long head;
+	/** the sequence number the next appended sample will get */
+	private long tail;
+	/** the time window in milliseconds, or 0 if samples are only evicted by capacity */
+	private long timeWindow;
+	/** the running sum of retained values other than NaN */
+	private double sum;
+	/** the number of retained values other than NaN */
+	private int valueCount;
+	/** the number of evictions since the running sum was last recomputed */
+	private int evictionsSinceResum;
+	/** the sequence numbers of the candidate minimums, in increasing value order */
+	private final MonotonicQueue minQueue;
+	/** the sequence numbers of the candidate maximums, in decreasing value order */
+	private final MonotonicQueue maxQueue;
+	/** the number of leaves of the range trees, a power of two not less than the capacity */
+	private final int leaves;
+	/** the position of the minimum of each subtree of the ring positions, or -1 if it has no values other than NaN */
+	private final int[] minTree;
+	/** the position of the maximum of each subtree of the ring positions, or -1 if it has no values other than NaN */
+	private final int[] maxTree;
+	/** the index over the time stamps, which are always ascending */
+	private final SortedXIndex sortedXIndex;
+	/** the min/max pyramid over the retained values, or null if not built yet */
+	private MinMaxPyramid minMaxPyramid;
+	/** the sequence number of the oldest sample when the pyramid was built */
+	private long pyramidHead;
+	/** the sequence number of the next sample when the pyramid was built */
+	private long pyramidTail;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param capacity
+	 *            the maximum number of retained samples
+	 */
+	public RingBufferSeriesModel(int capacity) {
+		this(capacity, 0);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param capacity
+	 *            the maximum number of retained samples
+	 * @param timeWindow
+	 *            the time window in milliseconds, samples older than the newest
+	 *            sample minus this window are evicted. 0 disables time based eviction.
+	 */
+	public RingBufferSeriesModel(int capacity, long timeWindow) {
+		if(capacity <= 0) {
+			throw new IllegalArgumentException(Messages.getString(Messages.INVALID_CAPACITY));
+		}
+		times = new long[capacity];
+		values = new double[capacity];
+		minQueue = new MonotonicQueue(capacity);
+		maxQueue = new MonotonicQueue(capacity);
+		leaves = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+		minTree = new int[2 * leaves];
+		maxTree = new int[2 * leaves];
+		Arrays.fill(minTree, -1);
+		Arrays.fill(maxTree, -1);
+		sortedXIndex = new SortedXIndex(this, SortedXIndex.Order.ASCENDING);
+		setTimeWindow(timeWindow);
+	}
+
+	/**
+	 * Appends a sample at the newest end, evicting the oldest samples if the
+	 * capacity is exceeded or they fall out of the time window.
+	 *
+	 * @param time
+	 *            the time stamp in milliseconds, must not be older than the newest sample
+	 * @param value
+	 *            the value
+	 */
+	public void append(long time, double value) {
+
+		if(head != tail && time < times[position(tail - 1)]) {
+			throw new IllegalArgumentException(Messages.getString(Messages.TIME_NOT_ASCENDING));
+		}
+		if(tail - head == times.length) {
+			evictOldest();
+		}
+		int position = position(tail);
+		times[position] = time;
+		values[position] = value;
+		// NaN is neither lower nor higher than any value, so it is kept out of the queues
+		if(!Double.isNaN(value)) {
+			sum += value;
+			valueCount++;
+			while(!minQueue.isEmpty() && values[position(minQueue.peekLast())] >= value) {
+				minQueue.removeLast();
+			}
+			minQueue.addLast(tail);
+			while(!maxQueue.isEmpty() && values[position(maxQueue.peekLast())] <= value) {
+				maxQueue.removeLast();
+			}
+			maxQueue.addLast(tail);
+		}
+		updateTrees(position, !Double.isNaN(value));
+		tail++;
+		if(timeWindow > 0) {
+			evictOlderThan(time - timeWindow);
+		}
+	}
+
+	/**
+	 * Evicts all samples with time stamp older than the given time.
+	 *
+	 * @param time
+	 *            the time stamp in milliseconds
+	 */
+	public void evictOlderThan(long time) {
+
+		while(head != tail && times[position(head)] < time) {
+			evictOldest();
+		}
+	}
+
+	/**
+	 * Removes all samples.
+	 */
+	public void clear() {
+
+		head = tail;
+		sum = 0;
+		valueCount = 0;
+		evictionsSinceResum = 0;
+		minQueue.clear();
+		maxQueue.clear();
+		Arrays.fill(minTree, -1);
+		Arrays.fill(maxTree, -1);
+	}
+
+	/**
+	 * Sets the time window. Samples already retained are evicted on the next append.
+	 *
+	 * @param timeWindow
+	 *            the time window in milliseconds, or 0 to evict by capacity only
+	 */
+	public void setTimeWindow(long timeWindow) {
+
+		this.timeWindow = Math.max(0, timeWindow);
+	}
+
+	/**
+	 * Gets the time window.
+	 *
+	 * @return the time window in milliseconds, or 0 if samples are evicted by capacity only
+	 */
+	public long getTimeWindow() {
+
+		return timeWindow;
+	}
+
+	/**
+	 * Gets the maximum number of retained samples.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+
+		return times.length;
+	}
+
+	/**
+	 * Gets the time stamp at the given index.
+	 *
+	 * @param index
+	 *            the index, 0 being the oldest sample
+	 * @return the time stamp in milliseconds
+	 */
+	public long getTime(int index) {
+
+		return times[checkedPosition(index)];
+	}
+
+	/**
+	 * Gets the value at the given index.
+	 *
+	 * @param index
+	 *            the index, 0 being the oldest sample
+	 * @return the value
+	 */
+	public double getValue(int index) {
+
+		return values[checkedPosition(index)];
+	}
+
+	@Override
+	public SortedXIndex getSortedXIndex() {
+
+		return sortedXIndex;
+	}
+
+	/**
+	 * Gets the min/max pyramid over the retained values. It is built on first
+	 * use after samples have been appended or evicted, so range queries should
+	 * use {@link #getRangeMinIndex(int, int)} and
+	 * {@link #getRangeMaxIndex(int, int)} instead.
+	 *
+	 * @return the min/max pyramid
+	 */
+	@Override
+	public MinMaxPyramid getMinMaxPyramid() {
+
+		if(minMaxPyramid == null || pyramidHead != head || pyramidTail != tail) {
+			double[] snapshot = new double[size()];
+			copyY(snapshot, 0, snapshot.length);
+			minMaxPyramid = new MinMaxPyramid(snapshot);
+			pyramidHead = head;
+			pyramidTail = tail;
+		}
+		return minMaxPyramid;
+	}
+
+	/**
+	 * Gets the index of the minimum value within the given index range from
+	 * the tree over the ring, in O(log n).
+	 */
+	@Override
+	public int getRangeMinIndex(int from, int to) {
+
+		return getRangeIndex(minTree, from, to, true);
+	}
+
+	/**
+	 * Gets the index of the maximum value within the given index range from
+	 * the tree over the ring, in O(log n).
+	 */
+	@Override
+	public int getRangeMaxIndex(int from, int to) {
+
+		return getRangeIndex(maxTree, from, to, false);
+	}
+
+	/**
+	 * Gets the number of samples evicted or cleared since the model was created.
+	 */
+	@Override
+	public long getRemovedCount() {
+
+		return head;
+	}
+
+	@Override
+	public Iterator<Integer> iterator() {
+
+		return IntStream.range(0, size()).iterator();
+	}
+
+	@Override
+	public int size() {
+
+		return (int)(tail - head);
+	}
+
+	@Override
+	public Integer itemAt(int index) throws IndexOutOfBoundsException {
+
+		checkedPosition(index);
+		return index;
+	}
+
+	@Override
+	public Number getX(Integer data) {
+
+		int index = data.intValue();
+		if(index >= 0 && index < size()) {
+			return times[position(head + index)];
+		} else {
+			return null;
+		}
+	}
+
+	@Override
+	public Number getY(Integer data) {
+
+		int index = data.intValue();
+		if(index >= 0 && index < size()) {
+			return values[position(head + index)];
+		} else {
+			return null;
+		}
+	}
+
+	@Override
+	public double getXDouble(int index) {
+
+		return times[checkedPosition(index)];
+	}
+
+	@Override
+	public double getYDouble(int index) {
+
+		return values[checkedPosition(index)];
+	}
+
+	@Override
+	public void copyX(double[] dst, int from, int to) {
+
+		if(from < 0 || to > size() || from > to) {
+			throw new IndexOutOfBoundsException();
+		}
+		for(int i = from; i < to; i++) {
+			dst[i - from] = times[position(head + i)];
+		}
+	}
+
+	@Override
+	public void copyY(double[] dst, int from, int to) {
+
+		if(from < 0 || to > size() || from > to) {
+			throw new IndexOutOfBoundsException();
+		}
+		int start = position(head + from);
+		int length = to - from;
+		int firstPart = Math.min(length, values.length - start);
+		System.arraycopy(values, start, dst, 0, firstPart);
+		System.arraycopy(values, 0, dst, firstPart, length - firstPart);
+	}
+
+	@Override
+	public Number getMinX() {
+
+		return head != tail ? times[position(head)] : 0;
+	}
+
+	@Override
+	public Number getMaxX() {
+
+		return head != tail ? times[position(tail - 1)] : 0;
+	}
+
+	@Override
+	public Number getMinY() {
+
+		return !minQueue.isEmpty() ? values[position(minQueue.peekFirst())] : 0;
+	}
+
+	@Override
+	public Number getMaxY() {
+
+		return !maxQueue.isEmpty() ? values[position(maxQueue.peekFirst())] : 0;
+	}
+
+	@Override
+	public Number getAvgY() {
+
+		return valueCount > 0 ? sum / valueCount : 0;
+	}
+
+	/**
+	 * Gets the newest value.
+	 */
+	@Override
+	public Number getCurrY() {
+
+		return head != tail ? values[position(tail - 1)] : 0;
+	}
+
+	/**
+	 * Evicts the oldest sample.
+	 */
+	private void evictOldest() {
+
+		double value = values[position(head)];
+		if(!Double.isNaN(value)) {
+			sum -= value;
+			valueCount--;
+		}
+		updateTrees(position(head), false);
+		head++;
+		if(!minQueue.isEmpty() && minQueue.peekFirst() < head) {
+			minQueue.removeFirst();
+		}
+		if(!maxQueue.isEmpty() && maxQueue.peekFirst() < head) {
+			maxQueue.removeFirst();
+		}
+		// the running sum drifts with every subtraction, so it is rebuilt once per
+		// capacity evictions which keeps the amortized cost constant
+		if(++evictionsSinceResum >= times.length) {
+			evictionsSinceResum = 0;
+			sum = 0;
+			for(long i = head; i < tail; i++) {
+				if(!Double.isNaN(values[position(i)])) {
+					sum += values[position(i)];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates the range trees after the given ring position has been set or
+	 * cleared.
+	 *
+	 * @param position
+	 *            the ring position
+	 * @param retained
+	 *            true if the position holds a retained value other than NaN
+	 */
+	private void updateTrees(int position, boolean retained) {
+
+		int node = leaves + position;
+		minTree[node] = retained ? position : -1;
+		maxTree[node] = minTree[node];
+		for(node >>= 1; node > 0; node >>= 1) {
+			minTree[node] = select(minTree[2 * node], minTree[2 * node + 1], true);
+			maxTree[node] = select(maxTree[2 * node], maxTree[2 * node + 1], false);
+		}
+	}
+
+	/**
+	 * Gets the index of the minimum or maximum value within the given index
+	 * range, which covers at most two ranges of ring positions.
+	 */
+	private int getRangeIndex(int[] tree, int from, int to, boolean min) {
+
+		if(from < 0 || to > size() || from >= to) {
+			throw new IndexOutOfBoundsException();
+		}
+		int start = position(head + from);
+		int end = start + to - from;
+		int result;
+		if(end <= values.length) {
+			result = query(tree, start, end, min);
+		} else {
+			result = select(query(tree, start, values.length, min), query(tree, 0, end - values.length, min), min);
+		}
+		// a range of NaN values has no minimum or maximum, so its first index stands for it
+		return result < 0 ? from : (int)((result - head % values.length + values.length) % values.length);
+	}
+
+	/**
+	 * Gets the position of the minimum or maximum value within the given range
+	 * of ring positions.
+	 *
+	 * @return the position, or -1 if there are no values other than NaN
+	 */
+	private int query(int[] tree, int start, int end, boolean min) {
+
+		int result = -1;
+		for(int low = start + leaves, high = end + leaves; low < high; low >>= 1, high >>= 1) {
+			if((low & 1) != 0) {
+				result = select(result, tree[low++], min);
+			}
+			if((high & 1) != 0) {
+				result = select(result, tree[--high], min);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the position of the lower or higher value, -1 denoting no value.
+	 */
+	private int select(int a, int b, boolean min) {
+
+		if(a < 0) {
+			return b;
+		}
+		if(b < 0) {
+			return a;
+		}
+		return (min ? values[b] < values[a] : values[b] > values[a]) ? b : a;
+	}
+
+	private int position(long sequence) {
+
+		return (int)(sequence % times.length);
+	}
+
+	private int checkedPosition(int index) {
+
+		if(index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return position(head + index);
+	}
+
+	/**
+	 * A fixed capacity double ended queue of sample sequence numbers.
+	 */
+	private static final class MonotonicQueue {
+
+		private final long[] elements;
+		private int first;
+		private int count;
+
+		MonotonicQueue(int capacity) {
+			elements = new long[capacity];
+		}
+
+		boolean isEmpty() {
+
+			return count == 0;
+		}
+
+		long peekFirst() {
+
+			return elements[first];
+		}
+
+		long peekLast() {
+
+			return elements[(first + count - 1) % elements.length];
+		}
+
+		void addLast(long sequence) {
+
+			elements[(first + count) % elements.length] = sequence;
+			count++;
+		}
+
+		void removeFirst() {
+
+			first = (first + 1) % elements.length;
+			count--;
+		}
+
+		void removeLast() {
+
+			count--;
+		}
+
+		void clear() {
+
+			first = 0;
+			count = 0;
+		}
+	}
+}
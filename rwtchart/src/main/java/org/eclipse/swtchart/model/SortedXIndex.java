@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.model;
+
+/**
+ * An index over the x coordinates of a series that finds the items within an
+ * x window by binary search. Both ascending and descending order (e.g. time
+ * stamps stored newest first) are supported. For series which are not sorted
+ * every query conservatively returns the whole index range.
+ */
+public class SortedXIndex {
+
+	/**
+	 * The order of the x coordinates.
+	 */
+	public enum Order {
+		/** non-decreasing x coordinates */
+		ASCENDING,
+		/** non-increasing x coordinates */
+		DESCENDING,
+		/** x coordinates in no particular order */
+		UNSORTED;
+	}
+
+	/** the x coordinates, or null if backed by a model */
+	private final double[] xSeries;
+	/** the model, or null if backed by an array */
+	private final PrimitiveSeriesModel model;
+	/** the order of the x coordinates */
+	private final Order order;
+
+	/**
+	 * Constructor. The order of the given array is detected in linear time,
+	 * and the array must not be modified afterwards.
+	 *
+	 * @param xSeries
+	 *            the x coordinates
+	 */
+	public SortedXIndex(double[] xSeries) {
+		this.xSeries = xSeries;
+		this.model = null;
+		this.order = detectOrder(xSeries);
+	}
+
+	/**
+	 * Constructor. The order of the given model is detected in linear time.
+	 *
+	 * @param model
+	 *            the series model
+	 */
+	public SortedXIndex(PrimitiveSeriesModel model) {
+		this(model, detectOrder(model));
+	}
+
+	/**
+	 * Constructor for a model whose order is known in advance. The size of the
+	 * model is read on every query, so the model may grow as long as it keeps
+	 * the given order.
+	 *
+	 * @param model
+	 *            the series model
+	 * @param order
+	 *            the order of the x coordinates of the model
+	 */
+	public SortedXIndex(PrimitiveSeriesModel model, Order order) {
+		this.xSeries = null;
+		this.model = model;
+		this.order = order;
+	}
+
+	private SortedXIndex(double[] xSeries, Order order) {
+		this.xSeries = xSeries;
+		this.model = null;
+		this.order = order;
+	}
+
+	/**
+	 * Creates the index of the given x coordinates, which extend the ones of
+	 * this index by appended items. Only the appended items are checked, so
+	 * the cost is linear in their number. The array must not be modified
+	 * afterwards.
+	 *
+	 * @param xSeries
+	 *            the x coordinates, starting with the ones of this index
+	 * @return the index of the given x coordinates
+	 */
+	public SortedXIndex extend(double[] xSeries) {
+
+		return extend(xSeries, 0);
+	}
+
+	/**
+	 * Creates the index of the given x coordinates, which are the ones of this
+	 * index without the given number of first items, extended by appended
+	 * items, as for a full ring buffer. Only the appended items are checked,
+	 * so the cost is linear in their number. The array must not be modified
+	 * afterwards.
+	 *
+	 * @param xSeries
+	 *            the x coordinates, starting with the ones of this index
+	 *            after the dropped items
+	 * @param dropped
+	 *            the number of items dropped from the start of this index
+	 * @return the index of the given x coordinates
+	 */
+	public SortedXIndex extend(double[] xSeries, int dropped) {
+
+		int from = size() - dropped;
+		if(from <= 1) {
+			return new SortedXIndex(xSeries);
+		}
+		boolean ascending = order == Order.ASCENDING;
+		boolean descending = order == Order.DESCENDING;
+		for(int i = from; i < xSeries.length && (ascending || descending); i++) {
+			double prev = xSeries[i - 1];
+			double current = xSeries[i];
+			if(Double.isNaN(current) || Double.isNaN(prev)) {
+				return new SortedXIndex(xSeries, Order.UNSORTED);
+			}
+			if(prev > current) {
+				ascending = false;
+			} else if(prev < current) {
+				descending = false;
+			}
+		}
+		return new SortedXIndex(xSeries, toOrder(ascending, descending));
+	}
+
+	/**
+	 * Gets the order of the x coordinates.
+	 *
+	 * @return the order
+	 */
+	public Order getOrder() {
+
+		return order;
+	}
+
+	/**
+	 * Gets the state indicating if the x coordinates are sorted.
+	 *
+	 * @return true if the x coordinates are sorted in either direction
+	 */
+	public boolean isSorted() {
+
+		return order != Order.UNSORTED;
+	}
+
+	/**
+	 * Gets the number of indexed items.
+	 *
+	 * @return the number of items
+	 */
+	public int size() {
+
+		return xSeries != null ? xSeries.length : model.size();
+	}
+
+	/**
+	 * Gets the lowest index of the items whose x coordinate is within the given
+	 * window. If no item is within the window, the returned index is greater
+	 * than the one returned by {@link #getLastIndex(double, double)} and denotes
+	 * the position where such an item would be inserted.
+	 *
+	 * @param lower
+	 *            the lower bound of the window, inclusive
+	 * @param upper
+	 *            the upper bound of the window, inclusive
+	 * @return the first index, or 0 if not sorted
+	 */
+	public int getFirstIndex(double lower, double upper) {
+
+		switch(order) {
+			case ASCENDING:
+				return search(lower, true);
+			case DESCENDING:
+				return search(upper, true);
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * Gets the highest index of the items whose x coordinate is within the given
+	 * window.
+	 *
+	 * @param lower
+	 *            the lower bound of the window, inclusive
+	 * @param upper
+	 *            the upper bound of the window, inclusive
+	 * @return the last index, or the last index of the series if not sorted
+	 */
+	public int getLastIndex(double lower, double upper) {
+
+		switch(order) {
+			case ASCENDING:
+				return search(upper, false) - 1;
+			case DESCENDING:
+				return search(lower, false) - 1;
+			default:
+				return size() - 1;
+		}
+	}
+
+	/**
+	 * Detects the order of the given x coordinates.
+	 *
+	 * @param xSeries
+	 *            the x coordinates
+	 * @return the order
+	 */
+	public static Order detectOrder(double[] xSeries) {
+
+		boolean ascending = true;
+		boolean descending = true;
+		for(int i = 1; i < xSeries.length && (ascending || descending); i++) {
+			double prev = xSeries[i - 1];
+			double current = xSeries[i];
+			if(Double.isNaN(current) || Double.isNaN(prev)) {
+				return Order.UNSORTED;
+			}
+			if(prev > current) {
+				ascending = false;
+			} else if(prev < current) {
+				descending = false;
+			}
+		}
+		return toOrder(ascending, descending);
+	}
+
+	private static Order detectOrder(PrimitiveSeriesModel model) {
+
+		int size = model.size();
+		boolean ascending = true;
+		boolean descending = true;
+		for(int i = 1; i < size && (ascending || descending); i++) {
+			double prev = model.getXDouble(i - 1);
+			double current = model.getXDouble(i);
+			if(Double.isNaN(current) || Double.isNaN(prev)) {
+				return Order.UNSORTED;
+			}
+			if(prev > current) {
+				ascending = false;
+			} else if(prev < current) {
+				descending = false;
+			}
+		}
+		return toOrder(ascending, descending);
+	}
+
+	private static Order toOrder(boolean ascending, boolean descending) {
+
+		if(ascending) {
+			return Order.ASCENDING;
+		} else if(descending) {
+			return Order.DESCENDING;
+		}
+		return Order.UNSORTED;
+	}
+
+	/**
+	 * Finds the first index at which the x coordinate is past the given value in
+	 * the direction of the order. With <code>inclusive</code> an x coordinate
+	 * equal to the value counts as past it.
+	 */
+	private int search(double value, boolean inclusive) {
+
+		int low = 0;
+		int high = size();
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			double x = xSeries != null ? xSeries[middle] : model.getXDouble(middle);
+			boolean past;
+			if(order == Order.ASCENDING) {
+				past = inclusive ? x >= value : x > value;
+			} else {
+				past = inclusive ? x <= value : x < value;
+			}
+			if(past) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+}
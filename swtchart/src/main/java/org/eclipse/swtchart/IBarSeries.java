@@ -31,6 +31,20 @@ public interface IBarSeries<T> extends ISeries<T> {
 		FIXED;
 	}
 
+	/**
+	 * Aggregation of the bars falling into one pixel column.
+	 */
+	public enum AggregationType {
+		/** the aggregation skipping bars in the same pixel column as the previous bar. */
+		NONE,
+		/** the aggregation drawing the maximum value of a pixel column. */
+		MAX,
+		/** the aggregation drawing the sum of the values of a pixel column. */
+		SUM,
+		/** the aggregation drawing the average value of a pixel column. */
+		AVERAGE;
+	}
+
 	/**
 	 * Gets the bar width style.
 	 * 
@@ -121,4 +135,23 @@ public interface IBarSeries<T> extends ISeries<T> {
 	 * @return the array of bar rectangles in pixels.
 	 */
 	Rectangle[] getBounds();
+
+	/**
+	 * Gets the aggregation of the bars falling into one pixel column.
+	 * 
+	 * @return the aggregation
+	 */
+	AggregationType getAggregationType();
+
+	/**
+	 * Sets the aggregation of the bars falling into one pixel column. With an
+	 * aggregation other than <code>AggregationType.NONE</code>, all bars of a
+	 * pixel column are merged into a single bar, so that the drawing cost is
+	 * bounded by the plot width. The default is
+	 * <code>AggregationType.NONE</code>.
+	 * 
+	 * @param type
+	 *            the aggregation, or null to restore the default
+	 */
+	void setAggregationType(AggregationType type);
 }
@@ -77,11 +77,48 @@ public interface IPlotArea {
 	 * return the status dependent on the availability of the
 	 * background image as one could also set a background image
 	 * manually.
+	 * <p>
+	 * While buffered, the background with the grid and the custom drawing
+	 * behind series, the series, and the custom drawing over series are kept
+	 * in offscreen images. A paint only draws the images again, unless the
+	 * size, the axis ranges or the drawn points have changed. Redrawing the
+	 * plot area alone only redraws the custom drawing over series, and
+	 * redrawing the chart redraws all of them, as is needed after style
+	 * changes.
 	 * 
 	 * @param buffered
 	 */
 	public void setBuffered(boolean buffered);
 
+	/**
+	 * Enables scrolling the plot area along with the X range, as for live
+	 * charts whose X range advances with new data. When the X range has only
+	 * moved since the last paint, the previous drawing is shifted by the
+	 * number of pixels it has moved, and only the exposed strip and the points
+	 * appended since then are drawn. The plot area is fully redrawn when the
+	 * size, the Y ranges, the X range length or the series change, or when
+	 * the chart is redrawn without a move of the X range or new points.
+	 * <p>
+	 * The data of the series are expected to be only appended at the newest X
+	 * values. Changes of existing points, and of what custom paint listeners
+	 * draw behind series, are only drawn in the redrawn part until the plot
+	 * area is fully redrawn. Changes of the styles of series and grids, and
+	 * adding or removing custom paint listeners, cause a full redraw. Series
+	 * with labels or error bars, and pie charts, are always fully redrawn.
+	 * 
+	 * @param enabled
+	 *            true to enable live scrolling
+	 */
+	public void enableLiveScroll(boolean enabled);
+
+	/**
+	 * Gets the state indicating if the plot area scrolls along with the X
+	 * range.
+	 * 
+	 * @return true if live scrolling is enabled
+	 */
+	public boolean isLiveScrollEnabled();
+
 	/**
 	 * Draws the image centered in the plot area.
 	 * 
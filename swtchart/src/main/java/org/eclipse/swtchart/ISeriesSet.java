@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.swtchart;
 
+import java.util.function.Consumer;
+
 import org.eclipse.swtchart.ISeries.SeriesType;
 
 /**
@@ -88,4 +90,70 @@ public interface ISeriesSet {
 	 *            the series id
 	 */
 	void sendToBack(String id);
+
+	/**
+	 * Gets the drawn data point nearest to the given position on the plot
+	 * area among all visible series, as for tooltips and hover highlighting.
+	 * Data points are found at the positions their symbols are drawn at, and
+	 * bars by their risers. The search uses an index per series that is only
+	 * rebuilt when the series is compressed again or the axes change, so that
+	 * it can be called on every mouse move.
+	 * 
+	 * @param x
+	 *            the horizontal pixel coordinate on the plot area
+	 * @param y
+	 *            the vertical pixel coordinate on the plot area
+	 * @param maxDistance
+	 *            the maximum distance in pixels
+	 * @return the nearest data point, or null if no data point is within the
+	 *         maximum distance
+	 */
+	PointHit getNearestPoint(int x, int y, int maxDistance);
+
+	/**
+	 * Gets the drawn data point nearest to the given position on the plot
+	 * area for each visible series, as for tooltips listing all series.
+	 * 
+	 * @param x
+	 *            the horizontal pixel coordinate on the plot area
+	 * @param y
+	 *            the vertical pixel coordinate on the plot area
+	 * @param maxDistance
+	 *            the maximum distance in pixels
+	 * @return the nearest data points of the series that have one within the
+	 *         maximum distance, sorted by distance
+	 * @see #getNearestPoint(int, int, int)
+	 */
+	PointHit[] getNearestPoints(int x, int y, int maxDistance);
+
+	/**
+	 * Begins a bulk update. Until the matching {@link #commit()}, creating,
+	 * deleting and reordering series, replacing their data and adjusting axis
+	 * ranges only record what has to be updated, and stacking, axis range
+	 * adjustment, layout and compression run once on commit. Bulk updates can
+	 * be nested, in which case only the outermost commit runs them.
+	 */
+	void beginUpdate();
+
+	/**
+	 * Ends a bulk update begun by {@link #beginUpdate()}.
+	 */
+	void commit();
+
+	/**
+	 * Runs the given changes as a bulk update.
+	 * 
+	 * @param updater
+	 *            the changes to this series set
+	 * @see #beginUpdate()
+	 */
+	default void update(Consumer<ISeriesSet> updater) {
+
+		beginUpdate();
+		try {
+			updater.accept(this);
+		} finally {
+			commit();
+		}
+	}
 }
\ No newline at end of file
@@ -15,7 +15,11 @@
 package org.eclipse.swtchart.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.DisposeEvent;
@@ -28,9 +32,11 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
 import org.eclipse.swtchart.Chart;
 import org.eclipse.swtchart.IAxis;
 import org.eclipse.swtchart.IBarSeries;
@@ -40,6 +46,10 @@ import org.eclipse.swtchart.ILineSeries;
 import org.eclipse.swtchart.IPlotArea;
 import org.eclipse.swtchart.ISeries;
 import org.eclipse.swtchart.ISeriesSet;
+import org.eclipse.swtchart.Range;
+import org.eclipse.swtchart.internal.axis.Axis;
+import org.eclipse.swtchart.internal.axis.AxisTransform;
+import org.eclipse.swtchart.internal.series.BarSeries;
 import org.eclipse.swtchart.internal.series.Series;
 import org.eclipse.swtchart.internal.series.SeriesSet;
 
@@ -57,6 +67,32 @@ public class PlotArea extends Canvas implements PaintListener, IPlotArea {
 	private DisposeListener disposeListener;
 	private Image image = null;
 	private boolean buffered = false;
+	/** the buffered background, grid and custom drawing behind series */
+	private Image backgroundLayer;
+	/** the buffered background layer with the series drawn on it */
+	private Image seriesLayer;
+	/** the buffered series layer with the custom drawing over series on it */
+	private Image overSeriesLayer;
+	/** the state the background layer was drawn for, or null if it has to be redrawn */
+	private List<Object> backgroundKey;
+	/** the state the series layer was drawn for, or null if it has to be redrawn */
+	private List<Object> seriesKey;
+	/** the state indicating if the over series layer has to be redrawn */
+	private boolean overSeriesDirty = true;
+	/** the state indicating if the layers are scrolled along with the X range */
+	private boolean liveScrollEnabled = false;
+	/** the transforms of the X axes the layers were last fully drawn for */
+	private AxisTransform[] scrollBase;
+	/** the number of pixels the layers have been scrolled since they were last fully drawn */
+	private int scrolledPixels;
+	/** the state of the layers except the X axes and the data, which has to be unchanged to scroll them */
+	private List<Object> scrollKey;
+	/** the newest X value of each series when the layers were last drawn */
+	private Map<ISeries<?>, Double> scrollNewestX = new IdentityHashMap<ISeries<?>, Double>();
+	/** the number of changes of the custom drawings */
+	private long styleGeneration;
+	/** the margin in pixels redrawn before the newest points, as for their symbols */
+	private static final int SCROLL_MARGIN = 2;
 
 	/**
 	 * Constructor.
@@ -90,6 +126,22 @@ public class PlotArea extends Canvas implements PaintListener, IPlotArea {
 
 		super.dispose();
 		chart.removeDisposeListener(disposeListener);
+		disposeLayers();
+	}
+
+	@Override
+	public void redraw() {
+
+		// a redraw of the plot area alone is for the custom drawing over series
+		overSeriesDirty = true;
+		super.redraw();
+	}
+
+	@Override
+	public void redraw(int x, int y, int width, int height, boolean all) {
+
+		overSeriesDirty = true;
+		super.redraw(x, y, width, height, all);
 	}
 
 	@Override
@@ -144,21 +196,414 @@ public class PlotArea extends Canvas implements PaintListener, IPlotArea {
 	public void addCustomPaintListener(ICustomPaintListener listener) {
 
 		paintListeners.add(listener);
+		styleGeneration++;
 	}
 
 	@Override
 	public void removeCustomPaintListener(ICustomPaintListener listener) {
 
 		paintListeners.remove(listener);
+		styleGeneration++;
 	}
 
 	@Override
 	public void paintControl(PaintEvent e) {
 
+		// the series have to be up to date before being drawn
+		chart.flushUpdates();
 		Point p = getSize();
+		if((!buffered && !liveScrollEnabled) || p.x <= 0 || p.y <= 0) {
+			disposeLayers();
+			Color oldBackground = e.gc.getBackground();
+			paintBehindSeries(e, p);
+			paintSeries(e.gc, p);
+			paintOverSeries(e);
+			e.gc.setBackground(oldBackground);
+			return;
+		}
+		e.gc.drawImage(updateLayers(e, p), 0, 0);
+	}
+
+	/**
+	 * Marks all buffered layers to be redrawn on the next paint. The chart
+	 * calls this when it is redrawn, since changes of styles, custom drawings
+	 * or data that was not compressed yet are not detected by the layers.
+	 */
+	public void invalidateLayers() {
+
+		backgroundKey = null;
+		seriesKey = null;
+		overSeriesDirty = true;
+	}
+
+	/**
+	 * Redraws the buffered layers whose state has changed.
+	 * 
+	 * @param e
+	 *            the paint event
+	 * @param size
+	 *            the plot area size
+	 * @return the top layer
+	 */
+	private Image updateLayers(PaintEvent e, Point size) {
+
+		List<Object> newBackgroundKey = Arrays.asList(getAxisKey(size), getBackground(), image, getStyleKey());
+		boolean backgroundChanged = backgroundLayer == null || !newBackgroundKey.equals(backgroundKey);
+		if((backgroundChanged || !getSeriesKey(size).equals(seriesKey)) && liveScrollEnabled && scrollLayers(e, size)) {
+			backgroundKey = newBackgroundKey;
+			seriesKey = getSeriesKey(size);
+			overSeriesDirty = true;
+		} else {
+			if(backgroundChanged) {
+				backgroundLayer = drawLayer(backgroundLayer, size, null, gc -> paintBehindSeries(createPaintEvent(e, gc), size));
+				backgroundKey = newBackgroundKey;
+				seriesKey = null;
+			}
+			if(seriesLayer == null || !getSeriesKey(size).equals(seriesKey)) {
+				seriesLayer = drawLayer(seriesLayer, size, backgroundLayer, gc -> paintSeries(gc, size));
+				// circular series set the axis ranges while being drawn
+				seriesKey = getSeriesKey(size);
+				overSeriesDirty = true;
+				resetScroll();
+			}
+		}
+		if(paintListeners.stream().allMatch(ICustomPaintListener::drawBehindSeries)) {
+			return seriesLayer;
+		}
+		if(overSeriesLayer == null || overSeriesDirty) {
+			overSeriesLayer = drawLayer(overSeriesLayer, size, seriesLayer, gc -> paintOverSeries(createPaintEvent(e, gc)));
+			overSeriesDirty = false;
+		}
+		return overSeriesLayer;
+	}
+
+	/**
+	 * Scrolls the background and series layers by the number of pixels the X
+	 * range has moved since they were drawn, and redraws only the exposed
+	 * strip and the points appended since then.
+	 * 
+	 * @param e
+	 *            the paint event
+	 * @param size
+	 *            the plot area size
+	 * @return true if the layers have been scrolled, or false if they have to
+	 *         be fully redrawn
+	 */
+	private boolean scrollLayers(PaintEvent e, Point size) {
+
+		if(scrollBase == null || backgroundLayer == null || seriesLayer == null || !getScrollKey(size).equals(scrollKey)) {
+			return false;
+		}
+		// all X axes have to be moved by the same number of pixels
+		IAxis[] xAxes = chart.getAxisSet().getXAxes();
+		if(xAxes.length != scrollBase.length) {
+			return false;
+		}
+		int shift = 0;
+		boolean horizontal = true;
+		for(int i = 0; i < xAxes.length; i++) {
+			double pixelShift = ((Axis)xAxes[i]).getTransform().getPixelShift(scrollBase[i]);
+			if(Double.isNaN(pixelShift)) {
+				return false;
+			}
+			// shifting against the transforms of the last full drawing keeps rounding errors from adding up
+			int axisShift = (int)Math.round(pixelShift) - scrolledPixels;
+			if(i > 0 && axisShift != shift) {
+				return false;
+			}
+			shift = axisShift;
+			horizontal = ((Axis)xAxes[i]).isHorizontalAxis();
+		}
+		int length = horizontal ? size.x : size.y;
+		// the exposed strip and the points appended since the last drawing are redrawn
+		int dirtyStart = shift < 0 ? length + shift : length;
+		int dirtyEnd = shift > 0 ? shift : 0;
+		boolean appended = false;
+		for(ISeries<?> series : chart.getSeriesSet().getSeries()) {
+			Double previous = scrollNewestX.get(series);
+			double newest = getNewestX(series);
+			if(previous == null) {
+				return false;
+			}
+			if(!series.isVisible() || Double.compare(previous, newest) == 0) {
+				continue;
+			}
+			appended = true;
+			AxisTransform transform = ((Axis)chart.getAxisSet().getXAxis(series.getXAxisId())).getTransform();
+			int margin = SCROLL_MARGIN + getPointExtent(series);
+			int previousPixel = transform.toPixel(previous);
+			int newestPixel = transform.toPixel(newest);
+			dirtyStart = Math.min(dirtyStart, Math.min(previousPixel, newestPixel) - margin);
+			dirtyEnd = Math.max(dirtyEnd, Math.max(previousPixel, newestPixel) + margin + 1);
+		}
+		if(shift < 0) {
+			dirtyEnd = length;
+		} else if(shift > 0) {
+			dirtyStart = 0;
+		}
+		dirtyStart = Math.max(dirtyStart, 0);
+		dirtyEnd = Math.min(dirtyEnd, length);
+		// without a move or new points, the redraw is for other changes such as styles
+		if((shift == 0 && !appended) || dirtyEnd - dirtyStart >= length || Math.abs(shift) >= length) {
+			return false;
+		}
+		Rectangle dirty = horizontal ? new Rectangle(dirtyStart, 0, dirtyEnd - dirtyStart, size.y) : new Rectangle(0, dirtyStart, size.x, dirtyEnd - dirtyStart);
+		int dx = horizontal ? shift : 0;
+		int dy = horizontal ? 0 : shift;
+		scrollLayer(backgroundLayer, dx, dy, dirty, gc -> paintBehindSeries(createPaintEvent(e, gc), size));
+		int start = dirtyStart;
+		int end = dirtyEnd;
+		scrollLayer(seriesLayer, dx, dy, dirty, gc -> {
+			gc.drawImage(backgroundLayer, 0, 0);
+			paintSeries(gc, size, start, end);
+		});
+		scrolledPixels += shift;
+		updateNewestX();
+		return true;
+	}
+
+	/**
+	 * Scrolls a buffered layer and redraws the given area of it.
+	 * 
+	 * @param layer
+	 *            the image of the layer
+	 * @param dx
+	 *            the horizontal shift in pixels
+	 * @param dy
+	 *            the vertical shift in pixels
+	 * @param dirty
+	 *            the area to redraw
+	 * @param painter
+	 *            the painter drawing the layer
+	 */
+	private void scrollLayer(Image layer, int dx, int dy, Rectangle dirty, Consumer<GC> painter) {
+
+		GC gc = new GC(layer);
+		try {
+			Rectangle bounds = layer.getBounds();
+			if(dx != 0 || dy != 0) {
+				gc.copyArea(0, 0, bounds.width, bounds.height, dx, dy);
+			}
+			gc.setClipping(dirty);
+			// the same state as the graphics context of a paint event
+			gc.setFont(getFont());
+			gc.setForeground(getForeground());
+			gc.setBackground(getBackground());
+			painter.accept(gc);
+		} finally {
+			gc.dispose();
+		}
+	}
+
+	/**
+	 * Remembers the state the layers have been fully drawn for, which they can
+	 * be scrolled from.
+	 */
+	private void resetScroll() {
+
+		scrollBase = null;
+		if(!liveScrollEnabled) {
+			return;
+		}
+		IAxis[] xAxes = chart.getAxisSet().getXAxes();
+		scrollBase = new AxisTransform[xAxes.length];
+		for(int i = 0; i < xAxes.length; i++) {
+			scrollBase[i] = ((Axis)xAxes[i]).getTransform();
+		}
+		scrolledPixels = 0;
+		scrollKey = getScrollKey(getSize());
+		updateNewestX();
+	}
+
+	/**
+	 * Gets the state the layers depend on apart from the X axes and the data
+	 * of the series, which has to be unchanged to scroll the layers.
+	 */
+	private List<Object> getScrollKey(Point size) {
+
+		List<Object> key = new ArrayList<Object>();
+		key.add(size);
+		key.add(getBackground());
+		// style changes are drawn on the whole plot area
+		key.add(getStyleKey());
+		for(IAxis axis : chart.getAxisSet().getYAxes()) {
+			key.add(((Axis)axis).getTransform());
+		}
+		// the grid lines are at the tick labels, which have to keep their step
+		for(IAxis axis : chart.getAxisSet().getXAxes()) {
+			double[] values = axis.getTick().getTickLabelValues();
+			key.add(values.length > 1 ? values[1] - values[0] : Double.NaN);
+		}
+		for(ISeries<?> series : chart.getSeriesSet().getSeries()) {
+			// the labels, error bars and pies are not tracked by the newest points
+			if(series instanceof ICircularSeries || series.getLabel().isVisible() || series.getXErrorBar().isVisible() || series.getYErrorBar().isVisible()) {
+				key.add(new Object());
+			}
+			key.add(series);
+			key.add(series.isVisible());
+		}
+		// a background image does not move with the X range
+		key.add(image == null);
+		return key;
+	}
+
+	/**
+	 * Gets the style generations of the custom drawings, the grids and the
+	 * series, which change with their styles.
+	 */
+	private List<Object> getStyleKey() {
+
+		List<Object> key = new ArrayList<Object>();
+		key.add(styleGeneration);
+		for(IAxis axis : chart.getAxisSet().getAxes()) {
+			key.add(((Grid)axis.getGrid()).getStyleGeneration());
+		}
+		for(ISeries<?> series : chart.getSeriesSet().getSeries()) {
+			key.add(((Series<?>)series).getStyleGeneration());
+		}
+		return key;
+	}
+
+	/**
+	 * Remembers the newest X value of each series.
+	 */
+	private void updateNewestX() {
+
+		scrollNewestX.clear();
+		for(ISeries<?> series : chart.getSeriesSet().getSeries()) {
+			scrollNewestX.put(series, getNewestX(series));
+		}
+	}
+
+	/**
+	 * Gets the newest X value of the given series.
+	 */
+	private static double getNewestX(ISeries<?> series) {
+
+		Series<?> s = (Series<?>)series;
+		return s.isEmpty() ? Double.NaN : s.getXRange().upper;
+	}
+
+	/**
+	 * Gets how far the drawing of a point of the given series extends from
+	 * the point along the X axis.
+	 */
+	private static int getPointExtent(ISeries<?> series) {
+
+		if(series instanceof ILineSeries) {
+			ILineSeries<?> lineSeries = (ILineSeries<?>)series;
+			return lineSeries.getSymbolSize() + lineSeries.getLineWidth();
+		}
+		if(series instanceof BarSeries) {
+			return ((BarSeries<?>)series).getRiserExtent();
+		}
+		return 0;
+	}
+
+	/**
+	 * Gets the state of the axes the layers depend on, which are the plot
+	 * area size and the axis transforms replaced on changes of the ranges.
+	 */
+	private List<Object> getAxisKey(Point size) {
+
+		List<Object> key = new ArrayList<Object>();
+		key.add(size);
+		for(IAxis axis : chart.getAxisSet().getAxes()) {
+			key.add(((Axis)axis).getTransform());
+		}
+		return key;
+	}
+
+	/**
+	 * Gets the state the series layer depends on.
+	 */
+	private List<Object> getSeriesKey(Point size) {
+
+		List<Object> key = new ArrayList<Object>();
+		key.add(getAxisKey(size));
+		for(ISeries<?> series : chart.getSeriesSet().getSeries()) {
+			key.add(((Series<?>)series).getDrawingKey());
+		}
+		return key;
+	}
+
+	/**
+	 * Draws a buffered layer.
+	 * 
+	 * @param layer
+	 *            the image of the layer to reuse, or null
+	 * @param size
+	 *            the plot area size
+	 * @param base
+	 *            the layer to draw on, or null
+	 * @param painter
+	 *            the painter drawing the layer
+	 * @return the image of the layer
+	 */
+	private Image drawLayer(Image layer, Point size, Image base, Consumer<GC> painter) {
+
+		if(layer != null && (layer.getBounds().width != size.x || layer.getBounds().height != size.y)) {
+			layer.dispose();
+			layer = null;
+		}
+		if(layer == null) {
+			layer = new Image(getDisplay(), size.x, size.y);
+		}
+		GC gc = new GC(layer);
+		try {
+			// the same state as the graphics context of a paint event
+			gc.setFont(getFont());
+			gc.setForeground(getForeground());
+			gc.setBackground(getBackground());
+			if(base != null) {
+				gc.drawImage(base, 0, 0);
+			}
+			painter.accept(gc);
+		} finally {
+			gc.dispose();
+		}
+		return layer;
+	}
+
+	/**
+	 * Creates a paint event for drawing on the given graphics context.
+	 */
+	private PaintEvent createPaintEvent(PaintEvent e, GC gc) {
+
+		Event event = new Event();
+		event.widget = this;
+		event.display = e.display;
+		event.time = e.time;
+		event.gc = gc;
+		Point size = getSize();
+		event.width = size.x;
+		event.height = size.y;
+		return new PaintEvent(event);
+	}
+
+	/**
+	 * Disposes the buffered layers.
+	 */
+	private void disposeLayers() {
+
+		for(Image layer : new Image[]{backgroundLayer, seriesLayer, overSeriesLayer}) {
+			if(layer != null) {
+				layer.dispose();
+			}
+		}
+		backgroundLayer = null;
+		seriesLayer = null;
+		overSeriesLayer = null;
+		invalidateLayers();
+	}
+
+	/**
+	 * Draws the background, the grid and the custom drawing behind series.
+	 */
+	private void paintBehindSeries(PaintEvent e, Point p) {
+
 		GC gc = e.gc;
 		// draw the plot area background
-		Color oldBackground = gc.getBackground();
 		gc.setBackground(getBackground());
 		gc.fillRectangle(0, 0, p.x, p.y);
 		/*
@@ -177,6 +622,69 @@ public class PlotArea extends Canvas implements PaintListener, IPlotArea {
 				listener.paintControl(e);
 			}
 		}
+	}
+
+	/**
+	 * Draws the parts of the series within the given strip along the X axes,
+	 * which are the points within the X range of the strip widened by the
+	 * extent of a point. The circular series are drawn completely.
+	 * 
+	 * @param gc
+	 *            the graphics context
+	 * @param p
+	 *            the plot area size
+	 * @param start
+	 *            the first pixel of the strip
+	 * @param end
+	 *            the end of the strip, exclusive
+	 */
+	private void paintSeries(GC gc, Point p, int start, int end) {
+
+		// draw series. The line series should be drawn on bar series.
+		for(ISeries<?> series : chart.getSeriesSet().getSeries()) {
+			if(series instanceof IBarSeries) {
+				paintSeries(gc, p, series, start, end);
+			}
+		}
+		//
+		for(ISeries<?> series : chart.getSeriesSet().getSeries()) {
+			if(series instanceof ILineSeries) {
+				paintSeries(gc, p, series, start, end);
+			}
+		}
+		//
+		for(ISeries<?> series : chart.getSeriesSet().getSeries()) {
+			if(series instanceof ICircularSeries) {
+				((Series<?>)series).draw(gc, p.x, p.y);
+			}
+		}
+	}
+
+	/**
+	 * Draws the part of the given series within the given strip along its X
+	 * axis.
+	 */
+	private void paintSeries(GC gc, Point p, ISeries<?> series, int start, int end) {
+
+		if(!series.isVisible()) {
+			return;
+		}
+		IAxis xAxis = chart.getAxisSet().getXAxis(series.getXAxisId());
+		if(xAxis == null) {
+			return;
+		}
+		AxisTransform transform = ((Axis)xAxis).getTransform();
+		int margin = SCROLL_MARGIN + getPointExtent(series);
+		double lower = transform.toValue(start - margin);
+		double upper = transform.toValue(end + margin);
+		((Series<?>)series).draw(gc, p.x, p.y, new Range(Math.min(lower, upper), Math.max(lower, upper)));
+	}
+
+	/**
+	 * Draws the series.
+	 */
+	private void paintSeries(GC gc, Point p) {
+
 		// draw series. The line series should be drawn on bar series.
 		for(ISeries<?> series : chart.getSeriesSet().getSeries()) {
 			if(series instanceof IBarSeries) {
@@ -195,13 +703,18 @@ public class PlotArea extends Canvas implements PaintListener, IPlotArea {
 				((Series<?>)series).draw(gc, p.x, p.y);
 			}
 		}
-		// draw over series
+	}
+
+	/**
+	 * Draws the custom drawing over series.
+	 */
+	private void paintOverSeries(PaintEvent e) {
+
 		for(ICustomPaintListener listener : paintListeners) {
 			if(!listener.drawBehindSeries()) {
 				listener.paintControl(e);
 			}
 		}
-		e.gc.setBackground(oldBackground);
 	}
 
 	@Override
@@ -235,6 +748,22 @@ public class PlotArea extends Canvas implements PaintListener, IPlotArea {
 		return imageData;
 	}
 
+	@Override
+	public void enableLiveScroll(boolean enabled) {
+
+		liveScrollEnabled = enabled;
+		if(!enabled && !buffered) {
+			disposeLayers();
+		}
+		invalidateLayers();
+	}
+
+	@Override
+	public boolean isLiveScrollEnabled() {
+
+		return liveScrollEnabled;
+	}
+
 	@Override
 	public boolean isBuffered() {
 
@@ -245,5 +774,8 @@ public class PlotArea extends Canvas implements PaintListener, IPlotArea {
 	public void setBuffered(boolean buffered) {
 
 		this.buffered = buffered;
+		if(!buffered && !liveScrollEnabled) {
+			disposeLayers();
+		}
 	}
 }
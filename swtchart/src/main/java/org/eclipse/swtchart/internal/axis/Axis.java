@@ -20,6 +20,7 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swtchart.Chart;
 import org.eclipse.swtchart.IAxis;
+import org.eclipse.swtchart.IAxisSet;
 import org.eclipse.swtchart.IDisposeListener;
 import org.eclipse.swtchart.IGrid;
 import org.eclipse.swtchart.ISeries;
@@ -76,6 +77,8 @@ public class Axis implements IAxis
 	private boolean reversed;
 	/** the state indicates if the axis data points are only integers */
 	private boolean integerDataPointAxis;
+	/** the state indicating if the range is adjusted to the series values within the range of the X axes */
+	private boolean visibleRangeAutoScaleEnabled;
 	/** the category series */
 	private String[] categorySeries;
 	/** the number of riser per category */
@@ -86,6 +89,8 @@ public class Axis implements IAxis
 	private int width;
 	/** the plot area height */
 	private int height;
+	/** the cached transform of data coordinates into pixel coordinates */
+	private AxisTransform transform;
    /** enable or disable multipliers */
    private boolean useMultipliers = true;
    /** use binary (IEC) multipliers instead of decimal */
@@ -200,11 +205,31 @@ public class Axis implements IAxis
 			min = range.lower;
 			max = range.upper;
 		}
+		if(direction == Direction.X) {
+			adjustAutoScaledRanges();
+		}
 		if(update) {
 			chart.updateLayout();
 		}
 	}
 
+	/**
+	 * Adjusts the ranges of the Y axes which follow the series values within
+	 * the range of the X axes.
+	 */
+	private void adjustAutoScaledRanges() {
+
+		IAxisSet axisSet = chart.getAxisSet();
+		if(axisSet == null) {
+			return;
+		}
+		for(IAxis axis : axisSet.getYAxes()) {
+			if(axis.isVisibleRangeAutoScaleEnabled()) {
+				((Axis)axis).adjustRange(false);
+			}
+		}
+	}
+
 	@Override
 	public Range getRange() {
 
@@ -304,7 +329,7 @@ public class Axis implements IAxis
 
 		double minimum = Double.NaN;
 		for(ISeries<?> series : chart.getSeriesSet().getSeries()) {
-			if(series.getYSeries().length == 0) {
+			if(((Series<?>)series).isEmpty()) {
 				continue;
 			}
 			double lower;
@@ -334,6 +359,24 @@ public class Axis implements IAxis
 		return grid;
 	}
 
+	@Override
+	public void enableVisibleRangeAutoScale(boolean enabled) {
+
+		if(direction != Direction.Y || visibleRangeAutoScaleEnabled == enabled) {
+			return;
+		}
+		visibleRangeAutoScaleEnabled = enabled;
+		if(enabled) {
+			adjustRange();
+		}
+	}
+
+	@Override
+	public boolean isVisibleRangeAutoScaleEnabled() {
+
+		return visibleRangeAutoScaleEnabled;
+	}
+
 	@Override
 	public void adjustRange() {
 
@@ -348,6 +391,12 @@ public class Axis implements IAxis
 	 */
 	public void adjustRange(boolean update) {
 
+		SeriesSet seriesSet = (SeriesSet)chart.getSeriesSet();
+		if(seriesSet.isUpdating()) {
+			seriesSet.deferRangeAdjustment(this, update);
+			return;
+		}
+		chart.flushUpdates();
 		if(isValidCategoryAxis()) {
 			setRange(new Range(0, categorySeries.length - 1));
 			return;
@@ -588,7 +637,22 @@ public class Axis implements IAxis
 	@Override
 	public int getPixelCoordinate(double dataCoordinate) {
 
-		return getPixelCoordinate(dataCoordinate, min, max);
+		return getTransform().toPixel(dataCoordinate);
+	}
+
+	/**
+	 * Gets the transform of data coordinates into pixel coordinates for the
+	 * current range, size and scale of this axis. It is created again only
+	 * when one of them has changed.
+	 * 
+	 * @return the transform
+	 */
+	public AxisTransform getTransform() {
+
+		if(transform == null || !transform.isFor(min, max, width, height, isHorizontalAxis, isReversed(), logScaleEnabled, categoryAxisEnabled)) {
+			transform = new AxisTransform(min, max, width, height, isHorizontalAxis, isReversed(), logScaleEnabled, categoryAxisEnabled);
+		}
+		return transform;
 	}
 
 	/**
@@ -604,6 +668,9 @@ public class Axis implements IAxis
 	 */
 	public int getPixelCoordinate(double dataCoordinate, double lower, double upper) {
 
+		if(lower == min && upper == max) {
+			return getTransform().toPixel(dataCoordinate);
+		}
 		int pixelCoordinate;
 		if(isReversed()) {
 			if(isHorizontalAxis) {
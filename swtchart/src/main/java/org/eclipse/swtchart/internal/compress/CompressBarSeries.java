@@ -12,39 +12,76 @@
  *******************************************************************************/
 package org.eclipse.swtchart.internal.compress;
 
-import java.util.ArrayList;
-
 /**
  * A compressor for bar series data.
  */
 public class CompressBarSeries extends Compress {
 
 	@Override
-	protected void addNecessaryPlots(ArrayList<Double> xList, ArrayList<Double> yList, ArrayList<Integer> indexList) {
+	protected void addNecessaryPlots(CompressBuffer buffer) {
 
 		double prevX = xSeries[0];
 		double maxY = Double.NaN;
 		int prevIndex = 0;
-		for(int i = 0; i < xSeries.length && i < ySeries.length; i++) {
-			if(xSeries[i] >= config.getXLowerValue()) {
+		// for sorted series in either direction only the points within the x
+		// range and their direct neighbors are scanned
+		boolean sorted = xIndex.isSorted();
+		int start = 0;
+		int end = Math.min(xSeries.length, ySeries.length);
+		if(sorted) {
+			start = Math.max(0, xIndex.getFirstIndex(config.getXLowerValue(), config.getXUpperValue()) - 1);
+			end = Math.min(end, xIndex.getLastIndex(config.getXLowerValue(), config.getXUpperValue()) + 2);
+			if(addPyramidMaximums(buffer, start, end)) {
+				return;
+			}
+		}
+		for(int i = start; i < end; i++) {
+			if(sorted || xSeries[i] >= config.getXLowerValue()) {
 				if(isInSameGridXAsPrevious(xSeries[i])) {
 					if(maxY < ySeries[i]) {
 						maxY = ySeries[i];
 					}
 				} else {
 					if(!Double.isNaN(maxY)) {
-						addToList(xList, yList, indexList, prevX, maxY, prevIndex);
+						addToList(buffer, prevX, maxY, prevIndex);
 					}
 					prevX = xSeries[i];
 					maxY = ySeries[i];
 					prevIndex = i;
 				}
 			}
-			if(xSeries[i] > config.getXUpperValue()) {
+			if(!sorted && xSeries[i] > config.getXUpperValue()) {
 				break;
 			}
 		}
-		addToList(xList, yList, indexList, prevX, maxY, prevIndex);
+		addToList(buffer, prevX, maxY, prevIndex);
+	}
+
+	/**
+	 * Adds the maximum of each bucket of the coarsest pyramid level which still
+	 * has at least one bucket per pixel column.
+	 * 
+	 * @param start
+	 *            the first series index, inclusive
+	 * @param end
+	 *            the last series index, exclusive
+	 * @return false if the pyramid cannot be used, in which case nothing is added
+	 */
+	private boolean addPyramidMaximums(CompressBuffer buffer, int start, int end) {
+
+		if(pyramid == null || pyramid.size() != xSeries.length || end <= start) {
+			return false;
+		}
+		int level = pyramid.getLevel(end - start, config.getWidthInPixel());
+		if(level == 0) {
+			return false;
+		}
+		int lastBucket = (end - 1) >> level;
+		for(int bucket = start >> level; bucket <= lastBucket; bucket++) {
+			int index = pyramid.getMaxIndex(level, bucket);
+			addToList(buffer, xSeries[index], ySeries[index], index);
+		}
+		return true;
 	}
 
 	/**
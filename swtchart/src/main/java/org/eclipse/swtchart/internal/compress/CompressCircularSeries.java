@@ -60,7 +60,7 @@ public class CompressCircularSeries extends Compress {
 	}
 
 	@Override
-	protected void addNecessaryPlots(ArrayList<Double> xList, ArrayList<Double> yList, ArrayList<Integer> indexList) {
+	protected void addNecessaryPlots(CompressBuffer buffer) {
 
 	}
 
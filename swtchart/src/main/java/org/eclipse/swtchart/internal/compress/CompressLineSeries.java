@@ -12,7 +12,7 @@
  *******************************************************************************/
 package org.eclipse.swtchart.internal.compress;
 
-import java.util.ArrayList;
+import org.eclipse.swtchart.model.SortedXIndex;
 
 /**
  * A compressor for line series data.
@@ -43,36 +43,101 @@ public class CompressLineSeries extends Compress {
 
 	/** the flag indicating whether the previous point is out of range */
 	private boolean isPrevOutOfRange;
+	/** the state indicating if the x coordinates are sorted in descending order */
+	private boolean isDescending;
+	/** the index after the last scanned point, or -1 if the scan stopped at the end of the x range */
+	private int scanEnd = -1;
 
 	@Override
-	protected void addNecessaryPlots(ArrayList<Double> xList, ArrayList<Double> yList, ArrayList<Integer> indexList) {
+	protected void addNecessaryPlots(CompressBuffer buffer) {
 
 		isPrevOutOfRange = true;
-		for(int i = 0; i < xSeries.length && i < ySeries.length; i++) {
+		isDescending = xIndex.getOrder() == SortedXIndex.Order.DESCENDING;
+		// the points before the one preceding the x range and after the one
+		// following it cannot add anything, so only the visible window is scanned
+		int start = 0;
+		int end = xSeries.length;
+		if(xIndex.isSorted()) {
+			start = Math.max(0, xIndex.getFirstIndex(xLower, xUpper) - 1);
+			end = Math.min(end, xIndex.getLastIndex(xLower, xUpper) + 2);
+			if(addPyramidPlots(buffer, start, Math.min(end, ySeries.length))) {
+				scanEnd = -1;
+				return;
+			}
+		}
+		addScannedPlots(buffer, start, Math.min(end, ySeries.length));
+	}
+
+	@Override
+	protected boolean addAppendedPlots(CompressBuffer buffer, int from) {
+
+		// the scan can only be resumed if it has reached the previous end
+		if(scanEnd != from) {
+			return false;
+		}
+		int end = xSeries.length;
+		if(xIndex.isSorted()) {
+			end = Math.min(end, xIndex.getLastIndex(xLower, xUpper) + 2);
+		}
+		addScannedPlots(buffer, from, Math.min(end, ySeries.length));
+		return true;
+	}
+
+	@Override
+	protected boolean removeHead(CompressBuffer buffer, int count) {
+
+		// the scan can only be resumed if it has passed the dropped points
+		if(scanEnd < count) {
+			return false;
+		}
+		buffer.removeHead(count);
+		scanEnd -= count;
+		// the line now starts at the first point, which may have been skipped
+		// for being in the same grid as a dropped point
+		if((buffer.size() == 0 || buffer.getIndexes()[0] != 0) && isInRange(xSeries[0], ySeries[0])) {
+			buffer.addFirst(xSeries[0], ySeries[0], 0);
+		}
+		return true;
+	}
+
+	/**
+	 * Scans the given points and adds the necessary plots, continuing from the
+	 * state left by the previous scan.
+	 * 
+	 * @param buffer
+	 *            the buffer to store the points
+	 * @param start
+	 *            the first series index, inclusive
+	 * @param end
+	 *            the last series index, exclusive
+	 */
+	private void addScannedPlots(CompressBuffer buffer, int start, int end) {
+
+		for(int i = start; i < end; i++) {
 			STATE state = getState(i);
 			switch(state) {
 				case SteppingOutOfYRange:
-					addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
+					addToList(buffer, xSeries[i], ySeries[i], i);
 					break;
 				case SteppingOverYRange:
 				case SteppingInRange:
 				case SteppingInXRange:
-					addToList(xList, yList, indexList, xSeries[i - 1], ySeries[i - 1], i - 1);
-					addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
+					addToList(buffer, xSeries[i - 1], ySeries[i - 1], i - 1);
+					addToList(buffer, xSeries[i], ySeries[i], i);
 					break;
 				case SteppingOverXRange:
 				case SteppingOutOfXRange:
-					addToList(xList, yList, indexList, xSeries[i - 1], ySeries[i - 1], i - 1);
-					addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
-					i = xSeries.length;
-					break;
+					addToList(buffer, xSeries[i - 1], ySeries[i - 1], i - 1);
+					addToList(buffer, xSeries[i], ySeries[i], i);
+					scanEnd = -1;
+					return;
 				case SteppingOutOfRange:
-					addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
-					i = xSeries.length;
-					break;
+					addToList(buffer, xSeries[i], ySeries[i], i);
+					scanEnd = -1;
+					return;
 				case InRangeAgain:
 					if(!isInSameGridAsPrevious(xSeries[i], ySeries[i])) {
-						addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
+						addToList(buffer, xSeries[i], ySeries[i], i);
 					}
 					break;
 				case OutOfRangeAgain:
@@ -81,6 +146,7 @@ public class CompressLineSeries extends Compress {
 					break;
 			}
 		}
+		scanEnd = end;
 	}
 
 	/**
@@ -104,7 +170,7 @@ public class CompressLineSeries extends Compress {
 				if(isPrevOutOfRange) {
 					if(index > 0 && ((ySeries[index - 1] < yLower && ySeries[index] > yUpper) || ySeries[index - 1] > yUpper && ySeries[index] < yLower)) {
 						state = STATE.SteppingOverYRange;
-					} else if(index > 0 && xSeries[index - 1] < xLower && xSeries[index] > xLower) {
+					} else if(index > 0 && isSteppingIn(xSeries[index - 1], xSeries[index])) {
 						state = STATE.SteppingInXRange;
 					} else {
 						state = STATE.OutOfRangeAgain;
@@ -116,9 +182,9 @@ public class CompressLineSeries extends Compress {
 		} else {
 			if(!isPrevOutOfRange) {
 				state = STATE.SteppingOutOfRange;
-			} else if(index > 0 && xSeries[index - 1] < xUpper && xSeries[index] > xUpper) {
+			} else if(index > 0 && isSteppingOut(xSeries[index - 1], xSeries[index])) {
 				state = STATE.SteppingOutOfXRange;
-			} else if(index > 0 && xSeries[index - 1] < xLower && xSeries[index] > xUpper) {
+			} else if(index > 0 && isSteppingIn(xSeries[index - 1], xSeries[index]) && isSteppingOut(xSeries[index - 1], xSeries[index])) {
 				state = STATE.SteppingOverXRange;
 			} else {
 				state = STATE.OutOfRangeAgain;
@@ -132,4 +198,50 @@ public class CompressLineSeries extends Compress {
 		}
 		return state;
 	}
+
+	/**
+	 * Checks if the given point is within the x and y range.
+	 * 
+	 * @param x
+	 *            the X coordinate
+	 * @param y
+	 *            the Y coordinate
+	 * @return true if the point is within the range
+	 */
+	private boolean isInRange(double x, double y) {
+
+		return xLower <= x && x <= xUpper && yLower <= y && y <= yUpper;
+	}
+
+	/**
+	 * Checks if the line between the given x coordinates crosses the bound of
+	 * the x range at which the series enters it, which is the upper bound for
+	 * descending series.
+	 * 
+	 * @param prevX
+	 *            the previous X coordinate
+	 * @param x
+	 *            the X coordinate
+	 * @return true if the line steps into the x range
+	 */
+	private boolean isSteppingIn(double prevX, double x) {
+
+		return isDescending ? prevX > xUpper && x < xUpper : prevX < xLower && x > xLower;
+	}
+
+	/**
+	 * Checks if the line between the given x coordinates crosses the bound of
+	 * the x range at which the series leaves it, which is the lower bound for
+	 * descending series.
+	 * 
+	 * @param prevX
+	 *            the previous X coordinate
+	 * @param x
+	 *            the X coordinate
+	 * @return true if the line steps out of the x range
+	 */
+	private boolean isSteppingOut(double prevX, double x) {
+
+		return isDescending ? prevX > xLower && x < xLower : prevX < xUpper && x > xUpper;
+	}
 }
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.compress;
+
+/**
+ * A compressor for line series sorted by X in either direction, which reduces
+ * the points within the X range to a target number with the
+ * Largest-Triangle-Three-Buckets algorithm. The points are divided into equally
+ * sized buckets and from each bucket the point forming the largest triangle
+ * with the previously selected point and the average of the next bucket is
+ * kept. The result keeps the visual shape of the series with smooth outlines,
+ * which suits area charts better than per pixel aggregation.
+ * <p>
+ * Triangle areas are computed in the log-transformed space of log scale axes,
+ * and the first and last point of the window as well as the nearest points
+ * outside the X range are always kept.
+ */
+public class CompressLttbSeries extends Compress {
+
+	/** the default number of points per pixel column */
+	public static final double DEFAULT_POINTS_PER_PIXEL = 2;
+	/** the number of points to keep per pixel column */
+	private double pointsPerPixel = DEFAULT_POINTS_PER_PIXEL;
+
+	@Override
+	protected void addNecessaryPlots(CompressBuffer buffer) {
+
+		int size = Math.min(xSeries.length, ySeries.length);
+		int start = 0;
+		int end = size;
+		if(xIndex.isSorted()) {
+			start = Math.max(0, xIndex.getFirstIndex(xLower, xUpper) - 1);
+			end = Math.min(size, xIndex.getLastIndex(xLower, xUpper) + 2);
+		}
+		int count = end - start;
+		int target = (int)Math.max(3, Math.ceil(pointsPerPixel * config.getPlotXLengthInPixel()));
+		if(count <= target) {
+			for(int i = start; i < end; i++) {
+				addToList(buffer, xSeries[i], ySeries[i], i);
+			}
+			return;
+		}
+		// the first and the last point are kept, the others form target - 2 buckets
+		double bucketSize = (double)(count - 2) / (target - 2);
+		int selected = start;
+		addToList(buffer, xSeries[selected], ySeries[selected], selected);
+		for(int bucket = 0; bucket < target - 2; bucket++) {
+			int bucketStart = start + 1 + (int)(bucket * bucketSize);
+			int bucketEnd = bucket == target - 3 ? end - 1 : start + 1 + (int)((bucket + 1) * bucketSize);
+			// average of the next bucket, or the last point for the last bucket
+			int nextStart = bucketEnd;
+			int nextEnd = bucket + 1 >= target - 3 ? end - 1 : Math.min(end - 1, start + 1 + (int)((bucket + 2) * bucketSize));
+			double averageX = 0;
+			double averageY = 0;
+			if(nextStart >= nextEnd) {
+				averageX = getX(end - 1);
+				averageY = getY(end - 1);
+			} else {
+				for(int i = nextStart; i < nextEnd; i++) {
+					averageX += getX(i);
+					averageY += getY(i);
+				}
+				averageX /= nextEnd - nextStart;
+				averageY /= nextEnd - nextStart;
+			}
+			double selectedX = getX(selected);
+			double selectedY = getY(selected);
+			double maxArea = -1;
+			int candidate = bucketStart;
+			for(int i = bucketStart; i < bucketEnd; i++) {
+				// twice the triangle area, which is sufficient for comparison
+				double area = Math.abs((selectedX - averageX) * (getY(i) - selectedY) - (selectedX - getX(i)) * (averageY - selectedY));
+				if(area > maxArea) {
+					maxArea = area;
+					candidate = i;
+				}
+			}
+			selected = candidate;
+			addToList(buffer, xSeries[selected], ySeries[selected], selected);
+		}
+		addToList(buffer, xSeries[end - 1], ySeries[end - 1], end - 1);
+	}
+
+	/**
+	 * Sets the number of points to keep per pixel column of the plot area.
+	 *
+	 * @param pointsPerPixel
+	 *            the number of points per pixel column
+	 */
+	public void setPointsPerPixel(double pointsPerPixel) {
+
+		if(this.pointsPerPixel != pointsPerPixel) {
+			this.pointsPerPixel = pointsPerPixel;
+			invalidate();
+		}
+	}
+
+	/**
+	 * Gets the X coordinate in the space the triangle areas are computed in.
+	 */
+	private double getX(int index) {
+
+		return config.isXLogScale() ? log10(xSeries[index], xLower) : xSeries[index];
+	}
+
+	/**
+	 * Gets the Y coordinate in the space the triangle areas are computed in.
+	 */
+	private double getY(int index) {
+
+		return config.isYLogScale() ? log10(ySeries[index], yLower) : ySeries[index];
+	}
+
+	/**
+	 * Gets the logarithm of the given value, clamping values which cannot be
+	 * shown on a log scale to the lower end of the range.
+	 */
+	private static double log10(double value, double lower) {
+
+		if(value > 0) {
+			return Math.log10(value);
+		}
+		return lower > 0 ? Math.log10(lower) : 0;
+	}
+}
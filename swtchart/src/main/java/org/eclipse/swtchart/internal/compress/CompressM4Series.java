@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.compress;
+
+/**
+ * A compressor for line series sorted by X in either direction, which keeps
+ * the first, last, minimum and maximum point of every pixel column within the
+ * X range (M4 aggregation). A polyline through these points covers exactly the
+ * same pixels as one through all points, while at most four points per column
+ * remain. The points directly outside the X range are kept as well, so that
+ * lines leaving the plot area are not lost.
+ * <p>
+ * Columns are aligned with the pixels of the plot area as given by
+ * {@link CompressConfig#setPlotXRange(double, double, long)}. Column boundaries are found by binary search and, if a min/max pyramid is
+ * set, the minimum and maximum of each column are range queries on it, so the
+ * cost depends on the plot width rather than on the number of points.
+ */
+public class CompressM4Series extends Compress {
+
+	@Override
+	protected void addNecessaryPlots(CompressBuffer buffer) {
+
+		int size = Math.min(xSeries.length, ySeries.length);
+		if(size == 0) {
+			return;
+		}
+		if(!xIndex.isSorted() || xLower >= xUpper) {
+			for(int i = 0; i < size; i++) {
+				addToList(buffer, xSeries[i], ySeries[i], i);
+			}
+			return;
+		}
+		setColumns();
+		int first = xIndex.getFirstIndex(xLower, xUpper);
+		int end = Math.min(size, xIndex.getLastIndex(xLower, xUpper) + 1);
+		if(first > 0) {
+			addToList(buffer, xSeries[first - 1], ySeries[first - 1], first - 1);
+		}
+		int start = first;
+		while(start < end) {
+			int column = getColumn(xSeries[start]);
+			int next = findColumnEnd(start, end, column);
+			int minIndex = getMinIndex(start, next);
+			int maxIndex = getMaxIndex(start, next);
+			int prevIndex = addPoint(buffer, start, -1);
+			prevIndex = addPoint(buffer, Math.min(minIndex, maxIndex), prevIndex);
+			prevIndex = addPoint(buffer, Math.max(minIndex, maxIndex), prevIndex);
+			addPoint(buffer, next - 1, prevIndex);
+			start = next;
+		}
+		if(end < size) {
+			addToList(buffer, xSeries[end], ySeries[end], end);
+		}
+	}
+
+	private int getMinIndex(int from, int to) {
+
+		if(pyramid != null && pyramid.size() == ySeries.length) {
+			return pyramid.getRangeMinIndex(from, to);
+		}
+		int result = from;
+		for(int i = from + 1; i < to; i++) {
+			if(ySeries[i] < ySeries[result] || Double.isNaN(ySeries[result])) {
+				result = i;
+			}
+		}
+		return result;
+	}
+
+	private int getMaxIndex(int from, int to) {
+
+		if(pyramid != null && pyramid.size() == ySeries.length) {
+			return pyramid.getRangeMaxIndex(from, to);
+		}
+		int result = from;
+		for(int i = from + 1; i < to; i++) {
+			if(ySeries[i] > ySeries[result] || Double.isNaN(ySeries[result])) {
+				result = i;
+			}
+		}
+		return result;
+	}
+}
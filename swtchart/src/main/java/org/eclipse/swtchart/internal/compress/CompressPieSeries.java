@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.eclipse.swtchart.internal.compress;
 
-import java.util.ArrayList;
-
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.RGB;
@@ -26,7 +24,7 @@ public class CompressPieSeries extends Compress {
 	private Color[] colors;
 
 	@Override
-	protected void addNecessaryPlots(ArrayList<Double> xList, ArrayList<Double> yList, ArrayList<Integer> indexList) {
+	protected void addNecessaryPlots(CompressBuffer buffer) {
 
 	}
 
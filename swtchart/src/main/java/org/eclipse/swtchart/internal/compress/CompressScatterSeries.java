@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.eclipse.swtchart.internal.compress;
 
-import java.util.ArrayList;
-
 /**
  * A compressor for scatter series data
  */
@@ -21,16 +19,33 @@ public class CompressScatterSeries extends Compress {
 
 	/** the state indicating if line is visible */
 	private boolean isLineVisible;
-	/** flag indicating whether the grid is occupied */
-	private boolean occupied[][];
+	/** the grid of pixels already occupied by a point, reused across compressions */
+	private OccupancyGrid occupied = new OccupancyGrid();
+	/** the lower value of x range, on log scale if enabled */
+	private double gridXLower;
+	/** the number of grid columns per x unit, on log scale if enabled */
+	private double gridXScale;
+	/** the lower value of y range, on log scale if enabled */
+	private double gridYLower;
+	/** the number of grid rows per y unit, on log scale if enabled */
+	private double gridYScale;
 
 	@Override
-	protected void addNecessaryPlots(ArrayList<Double> xList, ArrayList<Double> yList, ArrayList<Integer> indexList) {
+	protected void addNecessaryPlots(CompressBuffer buffer) {
 
+		// for sorted series only the points within the x range and, when
+		// connected by lines, their direct neighbors are scanned
+		int first = xIndex.getFirstIndex(xLower, xUpper);
+		int last = xIndex.getLastIndex(xLower, xUpper);
 		if(isLineVisible) {
-			for(int i = 0; i < xSeries.length && i < ySeries.length; i++) {
+			int start = xIndex.isSorted() ? Math.max(0, first - 1) : 0;
+			int end = xIndex.isSorted() ? Math.min(xSeries.length, last + 2) : xSeries.length;
+			if(xIndex.isSorted() && addPyramidPlots(buffer, start, Math.min(end, ySeries.length))) {
+				return;
+			}
+			for(int i = start; i < end && i < ySeries.length; i++) {
 				if(!isInSameGridAsPrevious(xSeries[i], ySeries[i])) {
-					addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
+					addToList(buffer, xSeries[i], ySeries[i], i);
 				}
 			}
 		} else {
@@ -39,11 +54,15 @@ public class CompressScatterSeries extends Compress {
 			if(width <= 0 || height <= 0) {
 				return;
 			}
-			// initialize flag
-			occupied = new boolean[width][height];
-			for(int i = 0; i < xSeries.length && i < ySeries.length; i++) {
+			int end = Math.min(last + 1, ySeries.length);
+			occupied.reset(width, height, Math.max(0, end - first));
+			gridXLower = config.isXLogScale() ? Math.log10(xLower) : xLower;
+			gridXScale = width / ((config.isXLogScale() ? Math.log10(xUpper) : xUpper) - gridXLower);
+			gridYLower = config.isYLogScale() ? Math.log10(yLower) : yLower;
+			gridYScale = height / ((config.isYLogScale() ? Math.log10(yUpper) : yUpper) - gridYLower);
+			for(int i = first; i <= last && i < ySeries.length; i++) {
 				if(xSeries[i] >= xLower && xSeries[i] <= xUpper && ySeries[i] >= yLower && ySeries[i] <= yUpper && !isOccupied(xSeries[i], ySeries[i])) {
-					addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
+					addToList(buffer, xSeries[i], ySeries[i], i);
 				}
 			}
 		}
@@ -60,27 +79,19 @@ public class CompressScatterSeries extends Compress {
 	 */
 	private boolean isOccupied(double x, double y) {
 
-		int xGridIndex;
-		int yGridIndex;
-		// calculate the X grid index
-		if(config.isXLogScale()) {
-			double lower = Math.log10(config.getXLowerValue());
-			double upper = Math.log10(config.getXUpperValue());
-			xGridIndex = (int)((Math.log10(x) - lower) / (upper - lower) * config.getWidthInPixel());
-		} else {
-			xGridIndex = (int)((x - config.getXLowerValue()) / (config.getXUpperValue() - config.getXLowerValue()) * config.getWidthInPixel());
-		}
-		// calculate the Y grid index
-		if(config.isYLogScale()) {
-			double lower = Math.log10(config.getYLowerValue());
-			double upper = Math.log10(config.getYUpperValue());
-			yGridIndex = (int)((Math.log10(y) - lower) / (upper - lower) * config.getHeightInPixel());
-		} else {
-			yGridIndex = (int)((y - config.getYLowerValue()) / (config.getYUpperValue() - config.getYLowerValue()) * config.getHeightInPixel());
-		}
-		boolean isOccupied = occupied[xGridIndex][yGridIndex];
-		occupied[xGridIndex][yGridIndex] = true;
-		return isOccupied;
+		// calculate the grid indexes, the point at the upper end of a range
+		// being clamped into the last grid
+		int xGridIndex = (int)(((config.isXLogScale() ? Math.log10(x) : x) - gridXLower) * gridXScale);
+		int yGridIndex = (int)(((config.isYLogScale() ? Math.log10(y) : y) - gridYLower) * gridYScale);
+		return !occupied.mark(xGridIndex, yGridIndex);
+	}
+
+	@Override
+	public Compress copy() {
+
+		CompressScatterSeries copy = (CompressScatterSeries)super.copy();
+		copy.occupied = new OccupancyGrid();
+		return copy;
 	}
 
 	/**
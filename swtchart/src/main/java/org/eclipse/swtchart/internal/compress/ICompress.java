@@ -12,11 +12,22 @@
  *******************************************************************************/
 package org.eclipse.swtchart.internal.compress;
 
+import org.eclipse.swtchart.model.MinMaxPyramid;
+import org.eclipse.swtchart.model.SortedXIndex;
+
 /**
  * A Compressor.
  */
 public interface ICompress {
 
+	/**
+	 * Gets the compressed points without copying them. The returned buffer is
+	 * owned by the compressor and is valid until the next compression.
+	 * 
+	 * @return the compressed points
+	 */
+	public abstract CompressBuffer getCompressedSeries();
+
 	/**
 	 * Gets the compressed X series
 	 * 
@@ -54,6 +65,56 @@ public interface ICompress {
 	 */
 	public abstract void setYSeries(double[] ySeries);
 
+	/**
+	 * Sets X and Y series which extend the current ones by points appended at
+	 * the end, optionally after dropping points from the start as a full ring
+	 * buffer does. As long as the configuration of the next compression equals the
+	 * previous one within its pixel tolerance, compressors supporting it keep
+	 * the compressed points and only compress the appended ones. Otherwise all
+	 * points are compressed again.
+	 * 
+	 * @param xSeries
+	 *            the X series
+	 * @param ySeries
+	 *            the Y series
+	 * @return false if the given series do not start with the current ones
+	 *         after the dropped points, in which case nothing is changed
+	 */
+	public abstract boolean appendSeries(double[] xSeries, double[] ySeries);
+
+	/**
+	 * Sets X and Y series the caller knows to extend the current ones after
+	 * dropping the given number of points from the start, like
+	 * {@link #appendSeries(double[], double[])} but without comparing or
+	 * copying the series. If the Y values of the remaining points changed, the
+	 * X series is still taken over as extension but all points are compressed
+	 * again. The given arrays must not be modified afterwards.
+	 *
+	 * @param xSeries
+	 *            the X series
+	 * @param ySeries
+	 *            the Y series
+	 * @param dropped
+	 *            the number of points dropped from the start of the current
+	 *            series
+	 * @param resume
+	 *            true if the Y values of the remaining points are unchanged, so
+	 *            that the compressed points can be kept
+	 * @return false if there are no current series to extend or the given
+	 *         series are too short, in which case nothing is changed
+	 */
+	public abstract boolean extendSeries(double[] xSeries, double[] ySeries, int dropped, boolean resume);
+
+	/**
+	 * Sets the min/max pyramid over the Y series, which allows compressing
+	 * large series in time proportional to the plot width. The pyramid is
+	 * reset whenever the Y series is set.
+	 *
+	 * @param pyramid
+	 *            the pyramid over the current Y series, or null
+	 */
+	public abstract void setMinMaxPyramid(MinMaxPyramid pyramid);
+
 	/**
 	 * Gets the original (uncompressed) X series.
 	 *
@@ -61,6 +122,15 @@ public interface ICompress {
 	 */
 	public abstract double[] getOriginalXSeries();
 
+	/**
+	 * Gets the index over the original X series, which maps an X range to the
+	 * indexes of the original points within it. The indexes of the compressed
+	 * points refer to the same points and increase along the compressed points.
+	 *
+	 * @return the index, or null if the X series is not set
+	 */
+	public abstract SortedXIndex getXIndex();
+
 	/**
 	 * Ignores the points which are in the same grid as the previous point.
 	 *
@@ -69,4 +139,54 @@ public interface ICompress {
 	 * @return true if the compression succeeds
 	 */
 	public abstract boolean compress(CompressConfig config);
+
+	/**
+	 * Gets the cache of points compressed with recent configurations, which
+	 * serves going back to a recently shown range. It is cleared whenever the
+	 * source series change.
+	 *
+	 * @return the cache
+	 */
+	public abstract CompressCache getCache();
+
+	/**
+	 * Gets the state indicating if the compressed points are up to date with
+	 * the source series and the compression parameters.
+	 *
+	 * @return true if compressed
+	 */
+	public abstract boolean isCompressed();
+
+	/**
+	 * Gets the state indicating if the compressed points are up to date with
+	 * the source series and the given configuration, in which case compressing
+	 * with it would not change them.
+	 *
+	 * @param config
+	 *            the configuration for compression
+	 * @return true if compressed with the given configuration
+	 */
+	public abstract boolean isCompressed(CompressConfig config);
+
+	/**
+	 * Creates a copy of this compressor which shares the source series but
+	 * has its own result, so that it can compress on another thread while this
+	 * compressor is in use. The source series are never modified in place, so
+	 * sharing them is safe.
+	 *
+	 * @return the copy
+	 */
+	public abstract ICompress copy();
+
+	/**
+	 * Takes over the compressed points of a copy created by {@link #copy()},
+	 * unless the source series or the compression parameters have changed
+	 * since the copy was created. Must be called on the thread using this
+	 * compressor.
+	 *
+	 * @param copy
+	 *            the compressed copy
+	 * @return true if the compressed points have been taken over
+	 */
+	public abstract boolean adopt(ICompress copy);
 }
\ No newline at end of file
@@ -14,11 +14,14 @@
  *******************************************************************************/
 package org.eclipse.swtchart.internal.series;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swtchart.Chart;
@@ -28,10 +31,15 @@ import org.eclipse.swtchart.LineStyle;
 import org.eclipse.swtchart.Range;
 import org.eclipse.swtchart.internal.Util;
 import org.eclipse.swtchart.internal.axis.Axis;
+import org.eclipse.swtchart.internal.axis.AxisTransform;
+import org.eclipse.swtchart.internal.compress.CompressBuffer;
 import org.eclipse.swtchart.internal.compress.CompressLineSeries;
+import org.eclipse.swtchart.internal.compress.CompressLttbSeries;
+import org.eclipse.swtchart.internal.compress.CompressM4Series;
 import org.eclipse.swtchart.internal.compress.CompressScatterSeries;
 import org.eclipse.swtchart.model.CartesianSeriesModel;
 import org.eclipse.swtchart.model.DoubleArraySeriesModel;
+import org.eclipse.swtchart.model.PrimitiveSeriesModel;
 
 /**
  * Line series.
@@ -65,10 +73,34 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    private boolean stepEnabled = false;
    /** the anti-aliasing value for drawing line */
    private int antialias = DEFAULT_ANTIALIAS;
+   /** the compression type */
+   private CompressionType compressionType = CompressionType.GRID;
+   /** the number of points per pixel column kept by LTTB compression */
+   private double compressionPointsPerPixel = CompressLttbSeries.DEFAULT_POINTS_PER_PIXEL;
    /** the line gap threshold - max X interval for connecting points */
    private double lineGapThreshold = Double.NaN;
+   /** the line points of a segment, reused across segments */
+   private final int[] linePoints = new int[8];
+   /** the lower edge of the area in the order of the points, reused across redraws */
+   private int[] areaLower = new int[64];
+   /** the number of coordinates in the lower edge of the area */
+   private int areaLowerSize;
+   /** the polyline points, reused across redraws */
+   private int[] polyline = new int[64];
+   /** the number of coordinates in the polyline */
+   private int polylineSize;
+   /** the X pixel coordinates of the points to draw, reused across redraws */
+   private int[] xPixels = new int[0];
+   /** the Y pixel coordinates of the points to draw, reused across redraws */
+   private int[] yPixels = new int[0];
    /** specific symbol */
    private String extendedSymbolType = "😂"; //$NON-NLS-1$
+   /** the maximum number of symbol images rendered per drawing, beyond which symbols not cached as images are drawn as shapes */
+   private static final int MAX_SPRITE_RENDERS = 16;
+   /** the maximum number of symbols per pixel along the X axis, beyond which only the line is drawn */
+   private double maxSymbolsPerPixel = DEFAULT_MAX_SYMBOLS_PER_PIXEL;
+   /** the symbols rendered into images */
+   private final SymbolSprites symbolSprites = new SymbolSprites();
    /** the alpha value to draw area */
    private static final int ALPHA = 50;
    /** the default line style */
@@ -83,6 +115,8 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    private static final int DEFAULT_SIZE = 4;
    /** the default symbol type */
    private static final PlotSymbolType DEFAULT_SYMBOL_TYPE = PlotSymbolType.CIRCLE;
+   /** the default maximum number of symbols per pixel */
+   private static final double DEFAULT_MAX_SYMBOLS_PER_PIXEL = 1;
    /** the default anti-aliasing value */
    private static final int DEFAULT_ANTIALIAS = SWT.DEFAULT;
    /** the margin in pixels attached at the minimum/maximum plot */
@@ -115,6 +149,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    @Override
    public void setLineStyle(LineStyle style)
    {
+      styleChanged();
       if (style == null)
       {
          this.lineStyle = DEFAULT_LINE_STYLE;
@@ -146,6 +181,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    @Override
    public void setLineColor(Color color)
    {
+      styleChanged();
       if (color != null && color.isDisposed())
       {
          SWT.error(SWT.ERROR_INVALID_ARGUMENT);
@@ -175,6 +211,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    @Override
    public void setLineWidth(int width)
    {
+      styleChanged();
       if (width <= 0)
       {
          this.lineWidth = DEFAULT_LINE_WIDTH;
@@ -200,6 +237,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    @Override
    public void setSymbolType(PlotSymbolType type)
    {
+      styleChanged();
       if (type == null)
       {
          this.symbolType = DEFAULT_SYMBOL_TYPE;
@@ -208,6 +246,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
       {
          this.symbolType = type;
       }
+      symbolSprites.clear();
    }
 
    /**
@@ -225,7 +264,9 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    @Override
    public void setExtendedPlotSymbolType(String type)
    {
+      styleChanged();
       extendedSymbolType = type;
+      symbolSprites.clear();
    }
 
    /**
@@ -243,6 +284,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    @Override
    public void setSymbolSize(int size)
    {
+      styleChanged();
       if (size <= 0)
       {
          this.symbolSize = DEFAULT_SIZE;
@@ -251,6 +293,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
       {
          this.symbolSize = size;
       }
+      symbolSprites.clear();
    }
 
    /**
@@ -268,6 +311,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    @Override
    public void setSymbolColor(Color color)
    {
+      styleChanged();
       if (color != null && color.isDisposed())
       {
          SWT.error(SWT.ERROR_INVALID_ARGUMENT);
@@ -301,6 +345,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    public void setSymbolColors(Color[] colors)
    {
 
+      styleChanged();
       if (colors == null)
       {
          symbolColors = new Color[0];
@@ -324,6 +369,19 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    protected void setCompressor()
    {
       CartesianSeriesModel<T> dataModel = getDataModel();
+      if (compressionType != CompressionType.GRID && dataModel instanceof PrimitiveSeriesModel && ((PrimitiveSeriesModel)dataModel).getSortedXIndex().isSorted())
+      {
+         if (compressionType == CompressionType.M4)
+         {
+            compressor = new CompressM4Series();
+         }
+         else
+         {
+            compressor = new CompressLttbSeries();
+            ((CompressLttbSeries)compressor).setPointsPerPixel(compressionPointsPerPixel);
+         }
+         return;
+      }
       if (dataModel instanceof DoubleArraySeriesModel)
       {
          if (((DoubleArraySeriesModel)dataModel).isXMonotoneIncreasing())
@@ -340,6 +398,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    public void enableArea(boolean enabled)
    {
 
+      styleChanged();
       areaEnabled = enabled;
    }
 
@@ -354,6 +413,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    public void enableStep(boolean enabled)
    {
 
+      styleChanged();
       stepEnabled = enabled;
    }
 
@@ -375,7 +435,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
       }
       else
       {
-         range = getYRange();
+         range = getYRange(axis);
       }
       int lowerPlotMargin = getSymbolSize() + MARGIN_AT_MIN_MAX_PLOT;
       int upperPlotMargin = getSymbolSize() + MARGIN_AT_MIN_MAX_PLOT;
@@ -391,6 +451,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    @Override
    public void setAntialias(int antialias)
    {
+      styleChanged();
       if (antialias != SWT.DEFAULT && antialias != SWT.ON && antialias != SWT.OFF)
       {
          SWT.error(SWT.ERROR_INVALID_ARGUMENT);
@@ -407,6 +468,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    @Override
    public void setLineGapThreshold(double threshold)
    {
+      styleChanged();
       if (threshold < 0)
       {
          this.lineGapThreshold = Double.NaN;
@@ -417,6 +479,97 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
       }
    }
 
+   /**
+    * @see org.eclipse.swtchart.ILineSeries#getCompressionType()
+    */
+   @Override
+   public CompressionType getCompressionType()
+   {
+      return compressionType;
+   }
+
+   /**
+    * @see org.eclipse.swtchart.ILineSeries#setCompressionType(org.eclipse.swtchart.ILineSeries.CompressionType)
+    */
+   @Override
+   public void setCompressionType(CompressionType type)
+   {
+      styleChanged();
+      if (type == null)
+      {
+         type = CompressionType.GRID;
+      }
+      if (compressionType == type)
+      {
+         return;
+      }
+      compressionType = type;
+      if (getDataModel() != null)
+      {
+         resetCompressor();
+         Axis xAxis = (Axis)chart.getAxisSet().getXAxis(xAxisId);
+         if (xAxis != null && xAxis.isValidCategoryAxis())
+         {
+            ((SeriesSet)chart.getSeriesSet()).updateCompressor(xAxis);
+         }
+         else
+         {
+            ((SeriesSet)chart.getSeriesSet()).compressAllSeries();
+         }
+      }
+   }
+
+   /**
+    * @see org.eclipse.swtchart.ILineSeries#getCompressionPointsPerPixel()
+    */
+   @Override
+   public double getCompressionPointsPerPixel()
+   {
+      return compressionPointsPerPixel;
+   }
+
+   /**
+    * @see org.eclipse.swtchart.ILineSeries#setCompressionPointsPerPixel(double)
+    */
+   @Override
+   public void setCompressionPointsPerPixel(double pointsPerPixel)
+   {
+      styleChanged();
+      if (!(pointsPerPixel > 0))
+      {
+         SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+      }
+      compressionPointsPerPixel = pointsPerPixel;
+      if (compressor instanceof CompressLttbSeries)
+      {
+         ((CompressLttbSeries)compressor).setPointsPerPixel(pointsPerPixel);
+         ((SeriesSet)chart.getSeriesSet()).compressAllSeries();
+      }
+   }
+
+   /**
+    * @see org.eclipse.swtchart.ILineSeries#getMaxSymbolsPerPixel()
+    */
+   @Override
+   public double getMaxSymbolsPerPixel()
+   {
+      return maxSymbolsPerPixel;
+   }
+
+   /**
+    * @see org.eclipse.swtchart.ILineSeries#setMaxSymbolsPerPixel(double)
+    */
+   @Override
+   public void setMaxSymbolsPerPixel(double symbolsPerPixel)
+   {
+      styleChanged();
+      if (!(symbolsPerPixel > 0))
+      {
+         SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+      }
+      maxSymbolsPerPixel = symbolsPerPixel;
+   }
+
    /**
     * Checks if there is a real data gap between two compressed data points
     * by examining the original (uncompressed) X series data.
@@ -455,7 +608,7 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
     * @param index the index of series
     * @param xAxis the X axis
     * @param yAxis the Y axis
-    * @return the line points
+    * @return the line points, valid until the next call
     */
    private int[] getLinePoints(double[] xseries, double[] yseries, int[] indexes, int index, Axis xAxis, Axis yAxis)
    {
@@ -512,11 +665,16 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
          y4 = y3;
       }
 
+      int[] p = linePoints;
       if (xAxis.isHorizontalAxis())
       {
-         return new int[] { x1, y1, x2, y2, x3, y3, x4, y4 };
+         p[0] = x1; p[1] = y1; p[2] = x2; p[3] = y2; p[4] = x3; p[5] = y3; p[6] = x4; p[7] = y4;
       }
-      return new int[] { y1, x1, y2, x2, y3, x3, y4, x4 };
+      else
+      {
+         p[0] = y1; p[1] = x1; p[2] = y2; p[3] = x2; p[4] = y3; p[5] = x3; p[6] = y4; p[7] = x4;
+      }
+      return p;
    }
 
    /**
@@ -553,20 +711,17 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    private void drawLineAndArea(GC gc, int width, int height, Axis xAxis, Axis yAxis)
    {
       // get x and y series
-      double[] xseries = compressor.getCompressedXSeries();
-      double[] yseries = compressor.getCompressedYSeries();
-      if (xseries.length == 0 || yseries.length == 0)
+      CompressBuffer compressedSeries = compressor.getCompressedSeries();
+      int size = compressedSeries.size();
+      int start = getDrawStart();
+      int end = getDrawEnd(size);
+      if (end <= start)
       {
          return;
       }
-      int[] indexes = compressor.getCompressedIndexes();
-      if (xAxis.isValidCategoryAxis())
-      {
-         for(int i = 0; i < xseries.length; i++)
-         {
-            xseries[i] = indexes[i];
-         }
-      }
+      int[] indexes = compressedSeries.getIndexes();
+      double[] xseries = xAxis.isValidCategoryAxis() ? getCategoryXSeries(indexes, size) : compressedSeries.getXSeries();
+      double[] yseries = compressedSeries.getYSeries();
 
       gc.setLineStyle(Util.getIndexDefinedInSWT(lineStyle));
       Color oldForeground = gc.getForeground();
@@ -575,151 +730,19 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
       boolean isHorizontal = xAxis.isHorizontalAxis();
       if (stepEnabled || areaEnabled || stackEnabled)
       {
-         for(int i = 0; i < xseries.length - 1; i++)
-         {
-            // Check gap threshold - skip drawing if gap exceeds threshold
-            if (exceedsGapThreshold(indexes[i], indexes[i + 1]))
-            {
-               continue;
-            }
-
-            int[] p = getLinePoints(xseries, yseries, indexes, i, xAxis, yAxis);
-            // draw line
-            if (lineStyle != LineStyle.NONE)
-            {
-               if (stepEnabled)
-               {
-                  if (isHorizontal)
-                  {
-                     gc.drawLine(p[0], p[1], p[2], p[1]);
-                     gc.drawLine(p[2], p[1], p[2], p[3]);
-                  }
-                  else
-                  {
-                     gc.drawLine(p[0], p[1], p[0], p[3]);
-                     gc.drawLine(p[0], p[3], p[2], p[3]);
-                  }
-               }
-               else
-               {
-                  gc.drawLine(p[0], p[1], p[2], p[3]);
-               }
-            }
-
-            // draw area
-            if (areaEnabled)
-            {
-               drawArea(gc, p, isHorizontal);
-            }
-         }
+         drawSegments(gc, xAxis, yAxis, xseries, yseries, indexes, start, end, isHorizontal);
       }
-      else
+      else if (lineStyle != LineStyle.NONE)
       {
-         if (lineStyle == LineStyle.SOLID)
-         {
-            drawLine(gc, xAxis, yAxis, xseries, yseries, indexes, isHorizontal);
-         }
-         else if (lineStyle != LineStyle.NONE)
-         {
-            drawLineWithStyle(gc, xAxis, yAxis, xseries, yseries, indexes, isHorizontal);
-         }
+         drawLine(gc, xAxis, yAxis, xseries, yseries, indexes, start, end, isHorizontal);
       }
 
       gc.setForeground(oldForeground);
    }
 
-   /*
-    * This method basically does the same things as drawLineWithStyle(), but is kept being used. The reason is that,
-    * drawLineWithStyle() has a workaround for eclipse bug #243588, and there could be a case that the workaround doesn't work. To
-    * minimize the risk of side effect, this method remains for solid line style until that bug is fixed and the workaround is
-    * removed.
-    */
-   private void drawLine(GC gc, Axis xAxis, Axis yAxis, double[] xseries, double[] yseries, int[] indexes, boolean isHorizontal)
-   {
-      double xLower = xAxis.getRange().lower;
-      double xUpper = xAxis.getRange().upper;
-      double yLower = yAxis.getRange().lower;
-      double yUpper = yAxis.getRange().upper;
-      int prevX = xAxis.getPixelCoordinate(xseries[0], xLower, xUpper);
-      int prevY = yAxis.getPixelCoordinate(inverted ? -yseries[0] : yseries[0], yLower, yUpper);
-      boolean drawVerticalLine = false;
-      int verticalLineYLower = 0;
-      int verticalLineYUpper = 0;
-      for(int i = 0; i < xseries.length - 1; i++)
-      {
-         int x = xAxis.getPixelCoordinate(xseries[i + 1], xLower, xUpper);
-         int y = yAxis.getPixelCoordinate(inverted ? -yseries[i + 1] : yseries[i + 1], yLower, yUpper);
-
-         // Check gap threshold using original data indices
-         if (exceedsGapThreshold(indexes[i], indexes[i + 1]))
-         {
-            // Draw any pending vertical line before the gap
-            if (drawVerticalLine)
-            {
-               if (isHorizontal)
-               {
-                  gc.drawLine(prevX, verticalLineYLower, prevX, verticalLineYUpper);
-               }
-               else
-               {
-                  gc.drawLine(verticalLineYLower, prevX, verticalLineYUpper, prevX);
-               }
-               drawVerticalLine = false;
-            }
-            // Skip to the next point without drawing a line
-            prevX = x;
-            prevY = y;
-            continue;
-         }
-
-         if (x == prevX && i < xseries.length - 2)
-         {
-            if (drawVerticalLine)
-            {
-               // extend vertical line
-               verticalLineYLower = Math.min(verticalLineYLower, y);
-               verticalLineYUpper = Math.max(verticalLineYUpper, y);
-            }
-            else
-            {
-               // init vertical line
-               verticalLineYLower = Math.min(prevY, y);
-               verticalLineYUpper = Math.max(prevY, y);
-               drawVerticalLine = true;
-            }
-         }
-         else
-         {
-            // draw vertical line
-            if (drawVerticalLine)
-            {
-               if (isHorizontal)
-               {
-                  gc.drawLine(prevX, verticalLineYLower, prevX, verticalLineYUpper);
-               }
-               else
-               {
-                  gc.drawLine(verticalLineYLower, prevX, verticalLineYUpper, prevX);
-               }
-               drawVerticalLine = false;
-            }
-            // draw non-vertical line
-            if (isHorizontal)
-            {
-               gc.drawLine(prevX, prevY, x, y);
-            }
-            else
-            {
-               gc.drawLine(prevY, prevX, y, x);
-            }
-         }
-         prevX = x;
-         prevY = y;
-      }
-   }
-
    /**
-    * Draws the line segments with line style.
+    * Draws the line through the points as polylines, which are only broken where the gap threshold is exceeded, so that the
+    * number of native calls does not grow with the number of points.
     * <p>
     * When there are multiple data points at the same x pixel coordinate, it is inefficient to simply draw vertical lines connecting
     * them by overlaying. Instead, only a single vertical line representing the overlaid multiple vertical lines is drawn at that x
@@ -732,28 +755,32 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
     * @param yAxis the y axis
     * @param xseries the x series
     * @param yseries the y series
+    * @param indexes the series indexes
+    * @param start the first point to draw
+    * @param end the end of the points to draw, exclusive
     * @param isHorizontal true if orientation is horizontal
     */
-   private void drawLineWithStyle(GC gc, Axis xAxis, Axis yAxis, double[] xseries, double[] yseries, int[] indexes, boolean isHorizontal)
+   private void drawLine(GC gc, Axis xAxis, Axis yAxis, double[] xseries, double[] yseries, int[] indexes, int start, int end, boolean isHorizontal)
    {
-      double xLower = xAxis.getRange().lower;
-      double xUpper = xAxis.getRange().upper;
-      double yLower = yAxis.getRange().lower;
-      double yUpper = yAxis.getRange().upper;
-      List<Integer> pointList = new ArrayList<Integer>();
-      int prevX = xAxis.getPixelCoordinate(xseries[0], xLower, xUpper);
-      int prevY = yAxis.getPixelCoordinate(inverted ? -yseries[0] : yseries[0], yLower, yUpper);
+      updatePixels(xAxis, yAxis, xseries, yseries, start, end);
+      polylineSize = 0;
+      int prevX = xPixels[0];
+      int prevY = yPixels[0];
       // add initial point
-      addPoint(pointList, prevX, prevY, isHorizontal);
+      addPoint(prevX, prevY, isHorizontal);
       boolean drawVerticalLine = false;
       int verticalLineYLower = 0;
       int verticalLineYUpper = 0;
       boolean advanced = gc.getAdvanced();
-      gc.setAdvanced(true); // workaround for eclipse bug #243588
-      for(int i = 0; i < xseries.length - 1; i++)
+      boolean styled = lineStyle != LineStyle.SOLID;
+      if (styled)
+      {
+         gc.setAdvanced(true); // workaround for eclipse bug #243588
+      }
+      for(int i = start; i < end - 1; i++)
       {
-         int x = xAxis.getPixelCoordinate(xseries[i + 1], xLower, xUpper);
-         int y = yAxis.getPixelCoordinate(inverted ? -yseries[i + 1] : yseries[i + 1], yLower, yUpper);
+         int x = xPixels[i + 1 - start];
+         int y = yPixels[i + 1 - start];
 
          // Check gap threshold using original data indices
          if (exceedsGapThreshold(indexes[i], indexes[i + 1]))
@@ -761,30 +788,22 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
             // Draw any pending vertical line
             if (drawVerticalLine)
             {
-               addPoint(pointList, prevX, verticalLineYLower, isHorizontal);
-               addPoint(pointList, prevX, verticalLineYUpper, isHorizontal);
-               addPoint(pointList, prevX, prevY, isHorizontal);
+               addPoint(prevX, verticalLineYLower, isHorizontal);
+               addPoint(prevX, verticalLineYUpper, isHorizontal);
+               addPoint(prevX, prevY, isHorizontal);
                drawVerticalLine = false;
             }
             // Draw current polyline segment if it has at least 2 points
-            if (pointList.size() >= 4)
-            {
-               int[] polyline = new int[pointList.size()];
-               for(int j = 0; j < polyline.length; j++)
-               {
-                  polyline[j] = pointList.get(j);
-               }
-               gc.drawPolyline(polyline);
-            }
+            drawPolyline(gc);
             // Start a new segment from the next point
-            pointList.clear();
-            addPoint(pointList, x, y, isHorizontal);
+            polylineSize = 0;
+            addPoint(x, y, isHorizontal);
             prevX = x;
             prevY = y;
             continue;
          }
 
-         if (x == prevX && i < xseries.length - 2)
+         if (x == prevX && i < end - 2)
          {
             if (drawVerticalLine)
             {
@@ -805,77 +824,204 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
             // add vertical line
             if (drawVerticalLine)
             {
-               addPoint(pointList, prevX, verticalLineYLower, isHorizontal);
-               addPoint(pointList, prevX, verticalLineYUpper, isHorizontal);
-               addPoint(pointList, prevX, prevY, isHorizontal);
+               addPoint(prevX, verticalLineYLower, isHorizontal);
+               addPoint(prevX, verticalLineYUpper, isHorizontal);
+               addPoint(prevX, prevY, isHorizontal);
             }
             // add non-vertical line
-            addPoint(pointList, x, y, isHorizontal);
+            addPoint(x, y, isHorizontal);
             drawVerticalLine = false;
          }
          prevX = x;
          prevY = y;
       }
       // Draw final polyline segment
-      if (pointList.size() >= 4)
+      drawPolyline(gc);
+      if (styled)
       {
-         int[] polyline = new int[pointList.size()];
-         for(int i = 0; i < polyline.length; i++)
-         {
-            polyline[i] = pointList.get(i);
-         }
-         gc.drawPolyline(polyline);
+         gc.setAdvanced(advanced);
       }
-      gc.setAdvanced(advanced);
    }
 
-   private static void addPoint(List<Integer> pointList, int x, int y, boolean isHorizontal)
+   /**
+    * Converts the points to draw into pixel coordinates at once.
+    * 
+    * @param xAxis the x axis
+    * @param yAxis the y axis
+    * @param xseries the x series
+    * @param yseries the y series
+    * @param start the first point to convert
+    * @param end the end of the points to convert, exclusive
+    */
+   private void updatePixels(Axis xAxis, Axis yAxis, double[] xseries, double[] yseries, int start, int end)
    {
-
-      if (isHorizontal)
-      {
-         pointList.add(Integer.valueOf(x));
-         pointList.add(Integer.valueOf(y));
-      }
-      else
+      if (xPixels.length < end - start)
       {
-         pointList.add(Integer.valueOf(y));
-         pointList.add(Integer.valueOf(x));
+         xPixels = new int[end - start];
+         yPixels = new int[end - start];
       }
+      xAxis.getTransform().toPixels(xseries, start, end, xPixels);
+      yAxis.getTransform().toPixels(yseries, start, end, yPixels, inverted);
    }
 
    /**
-    * Draws the area.
-    *
+    * Draws the lines and areas of step, area or stacked series. Each run of segments between gap threshold breaks is drawn as
+    * one polyline and its area as one polygon, so that the number of native calls does not grow with the number of points and
+    * the translucent area has no seams between segments.
+    * 
     * @param gc the graphic context
-    * @param p the line points
+    * @param xAxis the x axis
+    * @param yAxis the y axis
+    * @param xseries the x series
+    * @param yseries the y series
+    * @param indexes the series indexes
+    * @param start the first point to draw
+    * @param end the end of the points to draw, exclusive
     * @param isHorizontal true if orientation is horizontal
     */
-   private void drawArea(GC gc, int[] p, boolean isHorizontal)
+   private void drawSegments(GC gc, Axis xAxis, Axis yAxis, double[] xseries, double[] yseries, int[] indexes, int start, int end, boolean isHorizontal)
    {
+      polylineSize = 0;
+      areaLowerSize = 0;
+      boolean advanced = gc.getAdvanced();
+      boolean styled = lineStyle != LineStyle.NONE && lineStyle != LineStyle.SOLID;
+      if (styled)
+      {
+         gc.setAdvanced(true); // workaround for eclipse bug #243588
+      }
       int alpha = gc.getAlpha();
-      gc.setAlpha(chart.isTranslucent() ? ALPHA : 255);
       Color oldBackground = gc.getBackground();
-      gc.setBackground(getLineColor());
-      int[] pointArray;
-      if (stepEnabled)
+      if (areaEnabled)
+      {
+         gc.setBackground(getLineColor());
+      }
+      for(int i = start; i < end - 1; i++)
       {
-         if (isHorizontal)
+         // Check gap threshold - break the run if gap exceeds threshold
+         if (exceedsGapThreshold(indexes[i], indexes[i + 1]))
          {
-            pointArray = new int[] { p[0], p[1], p[2], p[1], p[4], p[7], p[6], p[7], p[0], p[1] };
+            drawRun(gc, alpha);
+            continue;
+         }
+         int[] p = getLinePoints(xseries, yseries, indexes, i, xAxis, yAxis);
+         // a segment normally starts where the previous one ended
+         if (polylineSize > 0 && (polyline[polylineSize - 2] != p[0] || polyline[polylineSize - 1] != p[1]))
+         {
+            drawRun(gc, alpha);
+         }
+         // the upper edge of the area is the line, the lower edge runs from (x4, y4) to (x3, y3)
+         if (polylineSize == 0)
+         {
+            addPoint(p[0], p[1], true);
+         }
+         addAreaPoint(p[6], p[7]);
+         if (stepEnabled)
+         {
+            addPoint(isHorizontal ? p[2] : p[0], isHorizontal ? p[1] : p[3], true);
+            addAreaPoint(isHorizontal ? p[4] : p[6], isHorizontal ? p[7] : p[5]);
          }
          else
          {
-            pointArray = new int[] { p[0], p[1], p[0], p[3], p[6], p[5], p[6], p[7], p[0], p[1] };
+            addAreaPoint(p[4], p[5]);
+         }
+         addPoint(p[2], p[3], true);
+      }
+      drawRun(gc, alpha);
+      gc.setAlpha(alpha);
+      gc.setBackground(oldBackground);
+      if (styled)
+      {
+         gc.setAdvanced(advanced);
+      }
+   }
+
+   /**
+    * Draws the line and the area of the collected run of segments and clears them.
+    * 
+    * @param gc the graphic context
+    * @param alpha the alpha value to draw the line with
+    */
+   private void drawRun(GC gc, int alpha)
+   {
+      if (lineStyle != LineStyle.NONE)
+      {
+         gc.setAlpha(alpha);
+         drawPolyline(gc);
+      }
+      if (areaEnabled && polylineSize >= 4)
+      {
+         // the polygon runs along the upper edge and back along the lower edge
+         int[] polygon = new int[polylineSize + areaLowerSize];
+         System.arraycopy(polyline, 0, polygon, 0, polylineSize);
+         for(int i = areaLowerSize - 2, j = polylineSize; i >= 0; i -= 2, j += 2)
+         {
+            polygon[j] = areaLower[i];
+            polygon[j + 1] = areaLower[i + 1];
          }
+         gc.setAlpha(chart.isTranslucent() ? ALPHA : 255);
+         gc.fillPolygon(polygon);
+      }
+      polylineSize = 0;
+      areaLowerSize = 0;
+   }
+
+   /**
+    * Adds a point to the lower edge of the area unless it repeats the last point.
+    *
+    * @param h the horizontal pixel coordinate
+    * @param v the vertical pixel coordinate
+    */
+   private void addAreaPoint(int h, int v)
+   {
+      if (areaLowerSize > 0 && areaLower[areaLowerSize - 2] == h && areaLower[areaLowerSize - 1] == v)
+      {
+         return;
+      }
+      if (areaLowerSize + 2 > areaLower.length)
+      {
+         areaLower = Arrays.copyOf(areaLower, areaLower.length * 2);
+      }
+      areaLower[areaLowerSize++] = h;
+      areaLower[areaLowerSize++] = v;
+   }
+
+   /**
+    * Adds a point to the polyline.
+    *
+    * @param x the x pixel coordinate
+    * @param y the y pixel coordinate
+    * @param isHorizontal true if orientation is horizontal, false to swap the coordinates
+    */
+   private void addPoint(int x, int y, boolean isHorizontal)
+   {
+      if (polylineSize + 2 > polyline.length)
+      {
+         polyline = Arrays.copyOf(polyline, polyline.length * 2);
+      }
+      if (isHorizontal)
+      {
+         polyline[polylineSize++] = x;
+         polyline[polylineSize++] = y;
       }
       else
       {
-         pointArray = new int[] { p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7], p[0], p[1] };
+         polyline[polylineSize++] = y;
+         polyline[polylineSize++] = x;
       }
-      gc.fillPolygon(pointArray);
-      gc.setAlpha(alpha);
-      gc.setBackground(oldBackground);
+   }
+
+   /**
+    * Draws the collected polyline points if they form at least one segment.
+    *
+    * @param gc the graphic context
+    */
+   private void drawPolyline(GC gc)
+   {
+      if (polylineSize < 4)
+      {
+         return;
+      }
+      gc.drawPolyline(polylineSize == polyline.length ? polyline : Arrays.copyOf(polyline, polylineSize));
    }
 
    /**
@@ -890,26 +1036,32 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
    private void drawSymbolAndLabel(GC gc, int width, int height, Axis xAxis, Axis yAxis)
    {
       // get x and y series
-      double[] xseries = compressor.getCompressedXSeries();
-      double[] yseries = compressor.getCompressedYSeries();
-      int[] indexes = compressor.getCompressedIndexes();
-      if (xAxis.isValidCategoryAxis())
+      CompressBuffer compressedSeries = compressor.getCompressedSeries();
+      int size = compressedSeries.size();
+      int[] indexes = compressedSeries.getIndexes();
+      boolean isCategory = xAxis.isValidCategoryAxis();
+      double[] xseries = isCategory ? getCategoryXSeries(indexes, size) : compressedSeries.getXSeries();
+      double[] yseries = compressedSeries.getYSeries();
+      boolean isValidStackSeries = isValidStackSeries();
+      AxisTransform xTransform = xAxis.getTransform();
+      AxisTransform yTransform = yAxis.getTransform();
+      // symbols more dense than pixels only hide the line, but scatter series consist of their symbols
+      int length = xAxis.isHorizontalAxis() ? width : height;
+      boolean drawSymbols = getSymbolType() != PlotSymbolType.NONE && (lineStyle == LineStyle.NONE || size <= length * maxSymbolsPerPixel);
+      Point spriteExtent = drawSymbols ? getSymbolExtent(gc) : null;
+      Color spriteColor = null;
+      Image sprite = null;
+      int spriteRenders = 0;
+      // draw symbol and label
+      for(int i = getDrawStart(); i < getDrawEnd(size); i++)
       {
-         boolean isValidStackSeries = isValidStackSeries();
-         for(int i = 0; i < xseries.length; i++)
+         double y = yseries[i];
+         if (isCategory && isValidStackSeries)
          {
-            xseries[i] = indexes[i];
-            if (isValidStackSeries)
-            {
-               // For stacked series, use stack coordinates
-               // For inverted stacked series, negate the stack values for correct positioning
-               yseries[i] = inverted ? -stackSeries[indexes[i]] : stackSeries[indexes[i]];
-            }
+            // For stacked series, use stack coordinates
+            // For inverted stacked series, negate the stack values for correct positioning
+            y = inverted ? -stackSeries[indexes[i]] : stackSeries[indexes[i]];
          }
-      }
-      // draw symbol and label
-      for(int i = 0; i < xseries.length; i++)
-      {
          Color color;
          if (symbolColors.length > indexes[i])
          {
@@ -922,27 +1074,96 @@ public class LineSeries<T> extends Series<T> implements ILineSeries<T>
          int h, v;
          if (xAxis.isHorizontalAxis())
          {
-            h = xAxis.getPixelCoordinate(xseries[i]);
+            h = xTransform.toPixel(xseries[i]);
             // For non-stacked inverted series, apply inversion here
-            double yValue = (isValidStackSeries() || !inverted) ? yseries[i] : -yseries[i];
-            v = yAxis.getPixelCoordinate(yValue);
+            double yValue = (isValidStackSeries || !inverted) ? y : -y;
+            v = yTransform.toPixel(yValue);
          }
          else
          {
-            v = xAxis.getPixelCoordinate(xseries[i]);
-            double yValue = (isValidStackSeries() || !inverted) ? yseries[i] : -yseries[i];
-            h = yAxis.getPixelCoordinate(yValue);
+            v = xTransform.toPixel(xseries[i]);
+            double yValue = (isValidStackSeries || !inverted) ? y : -y;
+            h = yTransform.toPixel(yValue);
          }
-         if (getSymbolType() != PlotSymbolType.NONE)
+         if (drawSymbols)
          {
-            drawSeriesSymbol(gc, h, v, color);
+            if (color != spriteColor)
+            {
+               sprite = getSymbolSprite(gc, color, spriteExtent, false);
+               // with more symbol colors than cached images, rendering them on every drawing is slower than drawing the shapes
+               if (sprite == null && spriteRenders < MAX_SPRITE_RENDERS)
+               {
+                  sprite = getSymbolSprite(gc, color, spriteExtent, true);
+                  spriteRenders++;
+               }
+               spriteColor = color;
+            }
+            if (sprite != null)
+            {
+               gc.drawImage(sprite, h - spriteExtent.x / 2, v - spriteExtent.y / 2);
+            }
+            else
+            {
+               drawSeriesSymbol(gc, h, v, color);
+            }
          }
-         seriesLabel.draw(gc, h, v, yseries[i], indexes[i], SWT.BOTTOM);
+         seriesLabel.draw(gc, h, v, y, indexes[i], SWT.BOTTOM);
          xErrorBar.draw(gc, h, v, xAxis, indexes[i]);
          yErrorBar.draw(gc, h, v, yAxis, indexes[i]);
       }
    }
 
+   /**
+    * Gets the size of the images the symbols are rendered into. The symbol is centered in the image, and its size leaves room
+    * for anti-aliasing and the line width of crosses.
+    *
+    * @param gc the graphics context the symbols are drawn with
+    * @return the image size, whose halves are the position of the symbol center
+    */
+   private Point getSymbolExtent(GC gc)
+   {
+      if (symbolType == PlotSymbolType.EMOJI)
+      {
+         Point extent = gc.textExtent(getExtendedPlotSymbolType());
+         return new Point(extent.x + 2, extent.y + 2);
+      }
+      int extent = 2 * (symbolSize + gc.getLineWidth() + 1) + 1;
+      return new Point(extent, extent);
+   }
+
+   /**
+    * Gets the image of the symbol in the given color, rendering it once per symbol style and color.
+    *
+    * @param gc the graphics context the symbols are drawn with
+    * @param color the symbol color
+    * @param extent the image size
+    * @param render true to render the image if it is not cached
+    * @return the image, or null if the symbol has to be drawn as shape
+    */
+   private Image getSymbolSprite(GC gc, Color color, Point extent, boolean render)
+   {
+      Font font = gc.getFont();
+      int lineWidth = gc.getLineWidth();
+      boolean emoji = symbolType == PlotSymbolType.EMOJI;
+      List<Object> key = Arrays.asList(symbolType, symbolSize, lineWidth, color.getRGB(), emoji ? getExtendedPlotSymbolType() : null, emoji ? font : null);
+      if (!render)
+      {
+         return symbolSprites.find(key);
+      }
+      return symbolSprites.get(gc.getDevice(), key, extent.x, extent.y, spriteGc -> {
+         spriteGc.setFont(font);
+         spriteGc.setLineWidth(lineWidth);
+         drawSeriesSymbol(spriteGc, extent.x / 2, extent.y / 2, color);
+      });
+   }
+
+   @Override
+   protected void dispose()
+   {
+      super.dispose();
+      symbolSprites.clear();
+   }
+
    /**
     * Draws series symbol.
     *
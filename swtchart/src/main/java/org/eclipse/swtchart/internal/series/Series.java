@@ -12,6 +12,7 @@
 package org.eclipse.swtchart.internal.series;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.StreamSupport;
@@ -27,13 +28,19 @@ import org.eclipse.swtchart.IDisposeListener;
 import org.eclipse.swtchart.IErrorBar;
 import org.eclipse.swtchart.ISeries;
 import org.eclipse.swtchart.ISeriesLabel;
+import org.eclipse.swtchart.PointHit;
 import org.eclipse.swtchart.Range;
 import org.eclipse.swtchart.internal.axis.Axis;
+import org.eclipse.swtchart.internal.axis.AxisTransform;
+import org.eclipse.swtchart.internal.compress.CompressBuffer;
 import org.eclipse.swtchart.internal.compress.ICompress;
 import org.eclipse.swtchart.model.CartesianSeriesModel;
 import org.eclipse.swtchart.model.DateArraySeriesModel;
 import org.eclipse.swtchart.model.DoubleArraySeriesModel;
 import org.eclipse.swtchart.model.IndexedSeriesModel;
+import org.eclipse.swtchart.model.MinMaxPyramid;
+import org.eclipse.swtchart.model.PrimitiveSeriesModel;
+import org.eclipse.swtchart.model.SortedXIndex;
 
 /**
  * Series.
@@ -78,6 +85,32 @@ abstract public class Series<T> implements ISeries<T>
    /** the list of dispose listeners */
    private List<IDisposeListener> listeners;
    private CartesianSeriesModel<T> model;
+   /** the category X coordinates of the compressed points, reused across redraws */
+   private double[] categoryXSeries = new double[0];
+   /** the X series on the combined time line of stacked series, or null if not stacked on a time line */
+   private double[] stackedXSeries;
+   /** the Y series on the combined time line of stacked series */
+   private double[] stackedYSeries;
+   /** the time line index of each data point */
+   private int[] stackedIndexes;
+   /** the stack series the min/max pyramid is built over */
+   private double[] stackPyramidSeries;
+   /** the min/max pyramid over the stack series, or null if not built yet */
+   private MinMaxPyramid stackPyramid;
+   /** the X series on the time line the index is built over */
+   private double[] stackedXIndexSeries;
+   /** the index over the X series on the time line, or null if not built yet */
+   private SortedXIndex stackedXIndex;
+   /** the index of the drawn points for hit testing, or null if not built yet */
+   private HitIndex hitIndex;
+   /** the state the hit index was built for */
+   private Object[] hitIndexKey;
+   /** the first compressed point to draw */
+   private int drawStart = 0;
+   /** the end of the compressed points to draw */
+   private int drawEnd = Integer.MAX_VALUE;
+   /** the number of changes of the style */
+   private long styleGeneration;
 
    /**
     * Constructor.
@@ -162,6 +195,7 @@ abstract public class Series<T> implements ISeries<T>
    @Override
    public void setInverted(boolean inverted)
    {
+      styleChanged();
       this.inverted = inverted;
    }
 
@@ -188,9 +222,10 @@ abstract public class Series<T> implements ISeries<T>
    public void setDataModel(CartesianSeriesModel<T> model)
    {
       this.model = model;
-      setCompressor();
-      compressor.setXSeries(getXSeries());
-      compressor.setYSeries(getYSeries());
+      if (stackedXSeries == null)
+      {
+         updateCompressor();
+      }
       Range xRange = getXRange();
       if (xRange.lower < 0)
       {
@@ -216,6 +251,11 @@ abstract public class Series<T> implements ISeries<T>
          }
          stackEnabled = false;
       }
+      if (stackedXSeries != null)
+      {
+         // the series on the time line is updated by stacking, which only extends it if points were appended
+         ((SeriesSet)chart.getSeriesSet()).updateStackAndRiserData();
+      }
    }
 
    /**
@@ -224,6 +264,7 @@ abstract public class Series<T> implements ISeries<T>
    @Override
    public void enableStack(boolean enabled)
    {
+      styleChanged();
       Number minY = getDataModel().getMinY();
       if (enabled && (minY != null && minY.doubleValue() < 0))
       {
@@ -280,6 +321,26 @@ abstract public class Series<T> implements ISeries<T>
       {
          return new Date[0];
       }
+      if (dataModel instanceof DateArraySeriesModel)
+      {
+         DateArraySeriesModel dateModel = (DateArraySeriesModel)dataModel;
+         Date[] dates = new Date[dateModel.size()];
+         for(int i = 0; i < dates.length; i++)
+         {
+            dates[i] = dateModel.dateAt(i);
+         }
+         return dates;
+      }
+      if (dataModel instanceof PrimitiveSeriesModel)
+      {
+         PrimitiveSeriesModel primitiveModel = (PrimitiveSeriesModel)dataModel;
+         Date[] dates = new Date[primitiveModel.size()];
+         for(int i = 0; i < dates.length; i++)
+         {
+            dates[i] = new Date((long)primitiveModel.getXDouble(i));
+         }
+         return dates;
+      }
       return StreamSupport.stream(dataModel.spliterator(), false).filter(t -> dataModel.getX(t) != null).map(value -> new Date(dataModel.getX(value).longValue())).toArray(Date[]::new);
    }
 
@@ -291,6 +352,13 @@ abstract public class Series<T> implements ISeries<T>
       {
          return new double[0];
       }
+      if (dataModel instanceof PrimitiveSeriesModel)
+      {
+         PrimitiveSeriesModel primitiveModel = (PrimitiveSeriesModel)dataModel;
+         double[] xSeries = new double[primitiveModel.size()];
+         primitiveModel.copyX(xSeries, 0, xSeries.length);
+         return xSeries;
+      }
       return StreamSupport.stream(dataModel.spliterator(), false).filter(t -> dataModel.getX(t) != null).mapToDouble(value -> dataModel.getX(value).doubleValue()).toArray();
    }
 
@@ -329,6 +397,13 @@ abstract public class Series<T> implements ISeries<T>
       {
          return new double[0];
       }
+      if (dataModel instanceof PrimitiveSeriesModel)
+      {
+         PrimitiveSeriesModel primitiveModel = (PrimitiveSeriesModel)dataModel;
+         double[] ySeries = new double[primitiveModel.size()];
+         primitiveModel.copyY(ySeries, 0, ySeries.length);
+         return ySeries;
+      }
       return StreamSupport.stream(dataModel.spliterator(), false).filter(t -> dataModel.getY(t) != null).mapToDouble(value -> dataModel.getY(value).doubleValue()).toArray();
    }
 
@@ -402,6 +477,96 @@ abstract public class Series<T> implements ISeries<T>
       return inverted ? new Range(-max, -min) : new Range(min, max);
    }
 
+   /**
+    * Gets the Y range of the data points within the given X range. For sorted series, the data points are found by binary search
+    * and their minimum and maximum by the min/max pyramid of the data model, which takes logarithmic time.
+    *
+    * @param xLower the lower bound of the X range, inclusive
+    * @param xUpper the upper bound of the X range, inclusive
+    * @return the Y range of the data points, or null if there are no such data points
+    */
+   public Range getYRange(double xLower, double xUpper)
+   {
+      CartesianSeriesModel<T> dataModel = getDataModel();
+      if (!(dataModel instanceof PrimitiveSeriesModel))
+      {
+         return getYRange();
+      }
+      PrimitiveSeriesModel primitiveModel = (PrimitiveSeriesModel)dataModel;
+      IAxis xAxis = chart.getAxisSet().getXAxis(xAxisId);
+      boolean isCategory = xAxis != null && ((Axis)xAxis).isValidCategoryAxis();
+      int first;
+      int last;
+      if (isCategory)
+      {
+         first = (int)Math.max(0, Math.ceil(xLower));
+         last = (int)Math.min(primitiveModel.size() - 1, Math.floor(xUpper));
+      }
+      else
+      {
+         SortedXIndex index = primitiveModel.getSortedXIndex();
+         first = index.getFirstIndex(xLower, xUpper);
+         last = index.getLastIndex(xLower, xUpper);
+      }
+      if (first > last)
+      {
+         return null;
+      }
+      double min = primitiveModel.getYDouble(primitiveModel.getRangeMinIndex(first, last + 1));
+      double max = primitiveModel.getYDouble(primitiveModel.getRangeMaxIndex(first, last + 1));
+      if (isValidStackSeries())
+      {
+         // the stack series is replaced rather than modified, so the pyramid is kept until then
+         if (stackPyramidSeries != stackSeries)
+         {
+            stackPyramidSeries = stackSeries;
+            stackPyramid = new MinMaxPyramid(stackSeries);
+         }
+         if (stackedXSeries != null)
+         {
+            // the stack series is on the time line
+            if (stackedXIndexSeries != stackedXSeries)
+            {
+               stackedXIndexSeries = stackedXSeries;
+               stackedXIndex = new SortedXIndex(stackedXSeries);
+            }
+            first = stackedXIndex.getFirstIndex(xLower, xUpper);
+            last = stackedXIndex.getLastIndex(xLower, xUpper);
+         }
+         if (first <= last && last < stackSeries.length)
+         {
+            max = Math.max(max, stackSeries[stackPyramid.getRangeMaxIndex(first, last + 1)]);
+         }
+      }
+      if (Double.isNaN(min) || Double.isNaN(max))
+      {
+         return null;
+      }
+      return inverted ? new Range(-max, -min) : new Range(min, max);
+   }
+
+   /**
+    * Gets the Y range of series the given Y axis is adjusted to. If the axis is adjusted to the visible series values, it is the Y
+    * range of the data points within the range of the X axis of the series.
+    *
+    * @param yAxis the Y axis
+    * @return the Y range
+    */
+   protected Range getYRange(Axis yAxis)
+   {
+      IAxis xAxis = chart.getAxisSet().getXAxis(xAxisId);
+      if (yAxis.isVisibleRangeAutoScaleEnabled() && xAxis != null)
+      {
+         Range xRange = xAxis.getRange();
+         Range range = getYRange(xRange.lower, xRange.upper);
+         if (range != null)
+         {
+            return range;
+         }
+      }
+      return getYRange();
+   }
+
    /**
     * Gets the compressor.
     *
@@ -418,6 +583,120 @@ abstract public class Series<T> implements ISeries<T>
     */
    abstract protected void setCompressor();
 
+   /**
+    * Creates a new compressor and loads the series data into it.
+    */
+   protected void resetCompressor()
+   {
+      setCompressor();
+      if (stackedXSeries != null)
+      {
+         compressor.setXSeries(stackedXSeries);
+         compressor.setYSeries(stackedYSeries);
+         return;
+      }
+      loadCompressor(getXSeries(), getYSeries());
+   }
+
+   /**
+    * Sets the series on the combined time line of the stacked series, which is compressed and drawn instead of the data model.
+    * The data model is left unchanged. The given arrays must not be modified afterwards.
+    *
+    * @param xSeries the X series on the time line
+    * @param ySeries the Y series on the time line, interpolated where the data model has no point
+    * @param indexes the time line index of each data point
+    * @param dropped the number of time stamps dropped from the start of the previous X series if the given X series only extends
+    *           the remaining ones by appended time stamps, or -1 if the time line changed otherwise
+    * @param extended true if the Y series extends the previous one in the same way, false if values at the remaining time stamps
+    *           changed
+    */
+   protected void setStackedSeries(double[] xSeries, double[] ySeries, int[] indexes, int dropped, boolean extended)
+   {
+      stackedIndexes = indexes;
+      boolean keep = stackedXSeries != null && dropped >= 0;
+      if (keep && stackedXIndexSeries == stackedXSeries && stackedXIndex != null)
+      {
+         stackedXIndex = stackedXIndex.extend(xSeries, dropped);
+         stackedXIndexSeries = xSeries;
+      }
+      stackedXSeries = xSeries;
+      stackedYSeries = ySeries;
+      if (!keep || !compressor.extendSeries(xSeries, ySeries, dropped, extended))
+      {
+         compressor.setXSeries(xSeries);
+         compressor.setYSeries(ySeries);
+      }
+   }
+
+   /**
+    * Restores the data model as the series to be compressed and drawn, if the series was stacked on a time line.
+    */
+   protected void clearStackedSeries()
+   {
+      if (stackedXSeries == null)
+      {
+         return;
+      }
+      stackedXSeries = null;
+      stackedYSeries = null;
+      stackedIndexes = null;
+      resetCompressor();
+   }
+
+   /**
+    * Gets the X series on the combined time line of stacked series.
+    *
+    * @return the X series, or null if the series is not stacked on a time line
+    */
+   protected double[] getStackedXSeries()
+   {
+      return stackedXSeries;
+   }
+
+   /**
+    * Gets the Y series on the combined time line of stacked series.
+    *
+    * @return the Y series, or null if the series is not stacked on a time line
+    */
+   protected double[] getStackedYSeries()
+   {
+      return stackedYSeries;
+   }
+
+   /**
+    * Creates a new compressor for the series data, unless the data only extend the previous data by appended points. In that
+    * case the current compressor is kept, so that only the appended points have to be compressed.
+    */
+   private void updateCompressor()
+   {
+      ICompress previous = compressor;
+      double[] xSeries = getXSeries();
+      double[] ySeries = getYSeries();
+      setCompressor();
+      if (previous != null && previous.getClass() == compressor.getClass() && previous.appendSeries(xSeries, ySeries))
+      {
+         compressor = previous;
+         return;
+      }
+      loadCompressor(xSeries, ySeries);
+   }
+
+   /**
+    * Loads the series data into the compressor.
+    *
+    * @param xSeries the X series
+    * @param ySeries the Y series
+    */
+   private void loadCompressor(double[] xSeries, double[] ySeries)
+   {
+      compressor.setXSeries(xSeries);
+      compressor.setYSeries(ySeries);
+      if (model instanceof DoubleArraySeriesModel)
+      {
+         compressor.setMinMaxPyramid(((DoubleArraySeriesModel)model).getMinMaxPyramid());
+      }
+   }
+
    @Override
    public int getXAxisId()
    {
@@ -511,6 +790,21 @@ abstract public class Series<T> implements ISeries<T>
       return new Point(getPixelCoordinate(hAxis, index), getPixelCoordinate(vAxis, index));
    }
 
+   /**
+    * @see org.eclipse.swtchart.ISeries#getIndexRange(double, double)
+    */
+   @Override
+   public int[] getIndexRange(double lower, double upper)
+   {
+      CartesianSeriesModel<T> dataModel = getDataModel();
+      if (dataModel instanceof PrimitiveSeriesModel)
+      {
+         SortedXIndex index = ((PrimitiveSeriesModel)dataModel).getSortedXIndex();
+         return new int[] { index.getFirstIndex(lower, upper), index.getLastIndex(lower, upper) };
+      }
+      return new int[] { 0, getSize() - 1 };
+   }
+
    /**
     * Gets the pixel coordinates with given axis and series index.
     *
@@ -540,18 +834,20 @@ abstract public class Series<T> implements ISeries<T>
                {
                   throw new IllegalArgumentException("Series index is out of range."); //$NON-NLS-1$
                }
-               dataCoordinate = dataModel.getX(indexedModel.itemAt(index)).doubleValue();
+               dataCoordinate = (dataModel instanceof PrimitiveSeriesModel) ? ((PrimitiveSeriesModel)dataModel).getXDouble(index) : dataModel.getX(indexedModel.itemAt(index)).doubleValue();
             }
          }
          else if (axis.getDirection() == Direction.Y)
          {
             if (isValidStackSeries())
             {
-               if (index < 0 || stackSeries.length <= index)
+               // data points stacked on a time line are at their time line index
+               int stackIndex = (stackedIndexes != null && index >= 0 && index < stackedIndexes.length) ? stackedIndexes[index] : index;
+               if (stackIndex < 0 || stackSeries.length <= stackIndex)
                {
                   throw new IllegalArgumentException("Series index is out of range."); //$NON-NLS-1$
                }
-               dataCoordinate = stackSeries[index];
+               dataCoordinate = stackSeries[stackIndex];
             }
             else
             {
@@ -559,7 +855,7 @@ abstract public class Series<T> implements ISeries<T>
                {
                   throw new IllegalArgumentException("Series index is out of range."); //$NON-NLS-1$
                }
-               dataCoordinate = dataModel.getY(indexedModel.itemAt(index)).doubleValue();
+               dataCoordinate = (dataModel instanceof PrimitiveSeriesModel) ? ((PrimitiveSeriesModel)dataModel).getYDouble(index) : dataModel.getY(indexedModel.itemAt(index)).doubleValue();
             }
          }
          else
@@ -575,6 +871,227 @@ abstract public class Series<T> implements ISeries<T>
       }
    }
 
+   /**
+    * Gets the category X coordinates, which are the series indexes, of the compressed points.
+    *
+    * @param indexes the series indexes
+    * @param size the number of compressed points
+    * @return the category X coordinates, valid up to the given size
+    */
+   protected double[] getCategoryXSeries(int[] indexes, int size)
+   {
+      if (categoryXSeries.length < size)
+      {
+         categoryXSeries = new double[Math.max(size, categoryXSeries.length + (categoryXSeries.length >> 1))];
+      }
+      for(int i = 0; i < size; i++)
+      {
+         categoryXSeries[i] = indexes[i];
+      }
+      return categoryXSeries;
+   }
+
+   /**
+    * Gets the drawn point nearest to the given position on the plot area.
+    * <p>
+    * The points are searched in an index of their pixel coordinates, which is only rebuilt when the compressed points, the
+    * axis ranges, the plot area size or the stacks have changed, so that it can be called on every mouse move.
+    *
+    * @param x the horizontal pixel coordinate on the plot area
+    * @param y the vertical pixel coordinate on the plot area
+    * @param maxDistance the maximum distance in pixels
+    * @return the nearest point, or null if no point is within the maximum distance
+    */
+   public PointHit getNearestPoint(int x, int y, int maxDistance)
+   {
+      if (!visible || compressor == null)
+      {
+         return null;
+      }
+      Axis xAxis = (Axis)chart.getAxisSet().getXAxis(xAxisId);
+      Axis yAxis = (Axis)chart.getAxisSet().getYAxis(yAxisId);
+      if (xAxis == null || yAxis == null)
+      {
+         return null;
+      }
+      HitIndex index = getHitIndex(xAxis, yAxis);
+      if (index == null)
+      {
+         return null;
+      }
+      int item = index.find(x, y, maxDistance);
+      if (item < 0)
+      {
+         return null;
+      }
+      return new PointHit(this, index.getDataIndex(item), index.getX(item), index.getY(item), index.getDistance(item, x, y));
+   }
+
+   /**
+    * Gets the hit index of the drawn points, rebuilding it if the state it was built for has changed.
+    *
+    * @param xAxis the X axis
+    * @param yAxis the Y axis
+    * @return the hit index, or null if the series has no hit index
+    */
+   private HitIndex getHitIndex(Axis xAxis, Axis yAxis)
+   {
+      CompressBuffer compressedSeries = compressor.getCompressedSeries();
+      Object[] key = getHitIndexKey(xAxis, yAxis, compressedSeries);
+      if (hitIndexKey == null || !Arrays.equals(hitIndexKey, key))
+      {
+         hitIndex = createHitIndex(xAxis, yAxis, compressedSeries);
+         hitIndexKey = key;
+      }
+      return hitIndex;
+   }
+
+   /**
+    * Gets the state the drawn points depend on, which is compared to decide whether the hit index has to be rebuilt. The
+    * compressed points are identified by their buffer and its version and size, and the axis ranges and plot area size by the
+    * axis transforms, which are replaced when any of them changes.
+    *
+    * @param xAxis the X axis
+    * @param yAxis the Y axis
+    * @param compressedSeries the compressed points
+    * @return the state
+    */
+   protected Object[] getHitIndexKey(Axis xAxis, Axis yAxis, CompressBuffer compressedSeries)
+   {
+      return new Object[] { compressedSeries, compressedSeries.getVersion(), compressedSeries.size(), xAxis.getTransform(), yAxis.getTransform(), stackSeries, stackedIndexes, inverted };
+   }
+
+   /**
+    * Gets the state the drawing of the series depends on apart from its style, which is compared to decide whether a buffered
+    * drawing of the series is still up to date.
+    *
+    * @return the state
+    */
+   public List<Object> getDrawingKey()
+   {
+      Axis xAxis = (Axis)chart.getAxisSet().getXAxis(xAxisId);
+      Axis yAxis = (Axis)chart.getAxisSet().getYAxis(yAxisId);
+      if (compressor == null || xAxis == null || yAxis == null)
+      {
+         return Arrays.asList(this, visible);
+      }
+      return Arrays.asList(this, visible, Arrays.asList(getHitIndexKey(xAxis, yAxis, compressor.getCompressedSeries())));
+   }
+
+   /**
+    * Creates the hit index of the drawn points at the positions their symbols are drawn at.
+    *
+    * @param xAxis the X axis
+    * @param yAxis the Y axis
+    * @param compressedSeries the compressed points
+    * @return the hit index, or null if the series has no hit index
+    */
+   protected HitIndex createHitIndex(Axis xAxis, Axis yAxis, CompressBuffer compressedSeries)
+   {
+      int size = compressedSeries.size();
+      int[] indexes = compressedSeries.getIndexes();
+      boolean isCategory = xAxis.isValidCategoryAxis();
+      double[] xseries = isCategory ? getCategoryXSeries(indexes, size) : compressedSeries.getXSeries();
+      double[] yseries = compressedSeries.getYSeries();
+      boolean isValidStackSeries = isValidStackSeries();
+      boolean isHorizontal = xAxis.isHorizontalAxis();
+      AxisTransform xTransform = xAxis.getTransform();
+      AxisTransform yTransform = yAxis.getTransform();
+      int[] h = new int[size];
+      int[] v = new int[size];
+      int[] dataIndexes = new int[size];
+      int count = 0;
+      for(int i = 0; i < size; i++)
+      {
+         int dataIndex = getDataIndex(indexes[i]);
+         if (dataIndex < 0)
+         {
+            continue;
+         }
+         double y;
+         if (isCategory && isValidStackSeries)
+         {
+            y = inverted ? -stackSeries[indexes[i]] : stackSeries[indexes[i]];
+         }
+         else
+         {
+            y = (isValidStackSeries || !inverted) ? yseries[i] : -yseries[i];
+         }
+         int xPixel = xTransform.toPixel(xseries[i]);
+         int yPixel = yTransform.toPixel(y);
+         h[count] = isHorizontal ? xPixel : yPixel;
+         v[count] = isHorizontal ? yPixel : xPixel;
+         dataIndexes[count] = dataIndex;
+         count++;
+      }
+      Point plotSize = chart.getPlotArea().getSize();
+      return HitIndex.ofPoints(h, v, dataIndexes, count, isHorizontal, plotSize.x, plotSize.y);
+   }
+
+   /**
+    * Gets the series index of the data point at the given index of the compressed points.
+    *
+    * @param index the index of the compressed point, which is on the combined time line if the series is stacked on one
+    * @return the series index, or -1 if the point is only on the time line of another stacked series
+    */
+   protected int getDataIndex(int index)
+   {
+      if (stackedIndexes == null)
+      {
+         return index;
+      }
+      // the time line indexes are descending if the data points are
+      boolean ascending = stackedIndexes.length < 2 || stackedIndexes[0] < stackedIndexes[stackedIndexes.length - 1];
+      int low = 0;
+      int high = stackedIndexes.length - 1;
+      while(low <= high)
+      {
+         int middle = (low + high) >>> 1;
+         int position = stackedIndexes[middle];
+         if (position == index)
+            return middle;
+         if ((position < index) == ascending)
+            low = middle + 1;
+         else
+            high = middle - 1;
+      }
+      return -1;
+   }
+
+   /**
+    * Gets the X value of the data point at the given index, without copying the series if the model provides primitive
+    * access.
+    *
+    * @param index the series index
+    * @return the X value
+    */
+   protected double getXValue(int index)
+   {
+      CartesianSeriesModel<T> dataModel = getDataModel();
+      if (dataModel instanceof PrimitiveSeriesModel)
+      {
+         return ((PrimitiveSeriesModel)dataModel).getXDouble(index);
+      }
+      return getXSeries()[index];
+   }
+
+   /**
+    * Gets the Y value of the data point at the given index, without copying the series if the model provides primitive
+    * access.
+    *
+    * @param index the series index
+    * @return the Y value
+    */
+   protected double getYValue(int index)
+   {
+      CartesianSeriesModel<T> dataModel = getDataModel();
+      if (dataModel instanceof PrimitiveSeriesModel)
+      {
+         return ((PrimitiveSeriesModel)dataModel).getYDouble(index);
+      }
+      return getYSeries()[index];
+   }
+
    /**
     * Gets the range with given margin.
     *
@@ -669,6 +1186,113 @@ abstract public class Series<T> implements ISeries<T>
       draw(gc, width, height, xAxis, yAxis);
    }
 
+   /**
+    * Gets the number of changes of the style, which tells whether drawings of the series are still up to date apart from its data.
+    *
+    * @return the style generation
+    */
+   public long getStyleGeneration()
+   {
+      return styleGeneration;
+   }
+
+   /**
+    * Records a change of the style.
+    */
+   protected void styleChanged()
+   {
+      styleGeneration++;
+   }
+
+   /**
+    * Draws the part of the series within the given X range, which is the strip of the plot area redrawn after scrolling. Only the
+    * compressed points within the range and the points next to them are drawn, so that the lines crossing the edges of the strip
+    * are complete. Series which are not sorted by X are drawn completely.
+    *
+    * @param gc the graphics context
+    * @param width the width to draw series
+    * @param height the height to draw series
+    * @param xRange the X range to draw
+    */
+   public void draw(GC gc, int width, int height, Range xRange)
+   {
+      if (!visible || compressor == null)
+      {
+         return;
+      }
+      // the compressed points of category axes are drawn at their categories
+      Axis xAxis = (Axis)chart.getAxisSet().getXAxis(xAxisId);
+      SortedXIndex xIndex = compressor.getXIndex();
+      if (xAxis != null && !xAxis.isValidCategoryAxis() && xIndex != null && xIndex.isSorted())
+      {
+         CompressBuffer compressedSeries = compressor.getCompressedSeries();
+         int[] indexes = compressedSeries.getIndexes();
+         int size = compressedSeries.size();
+         int first = xIndex.getFirstIndex(xRange.lower, xRange.upper);
+         int last = xIndex.getLastIndex(xRange.lower, xRange.upper);
+         drawStart = Math.max(0, findCompressedPoint(indexes, size, first) - 1);
+         drawEnd = Math.min(size, findCompressedPoint(indexes, size, last + 1) + 1);
+      }
+      try
+      {
+         draw(gc, width, height);
+      }
+      finally
+      {
+         drawStart = 0;
+         drawEnd = Integer.MAX_VALUE;
+      }
+   }
+
+   /**
+    * Gets the first compressed point whose series index is not lower than the given one.
+    *
+    * @param indexes the series indexes of the compressed points, which are increasing
+    * @param size the number of compressed points
+    * @param index the series index
+    * @return the compressed point, or size if there is none
+    */
+   private static int findCompressedPoint(int[] indexes, int size, int index)
+   {
+      int low = 0;
+      int high = size;
+      while(low < high)
+      {
+         int mid = (low + high) >>> 1;
+         if (indexes[mid] < index)
+         {
+            low = mid + 1;
+         }
+         else
+         {
+            high = mid;
+         }
+      }
+      return low;
+   }
+
+   /**
+    * Gets the first compressed point to draw, which is 0 unless only a part of the series is drawn.
+    *
+    * @return the first compressed point to draw
+    */
+   protected int getDrawStart()
+   {
+      return drawStart;
+   }
+
+   /**
+    * Gets the end of the compressed points to draw, which is the number of compressed points unless only a part of the series is
+    * drawn.
+    *
+    * @param size the number of compressed points
+    * @return the end of the compressed points to draw, exclusive
+    */
+   protected int getDrawEnd(int size)
+   {
+      return Math.min(drawEnd, size);
+   }
+
    /**
     * Draws series.
     *
@@ -687,7 +1311,26 @@ abstract public class Series<T> implements ISeries<T>
    public int getSize()
    {
       Object dataModel = getDataModel();
-      return (dataModel instanceof DoubleArraySeriesModel) ? ((DoubleArraySeriesModel)dataModel).size() : 0;
+      return (dataModel instanceof IndexedSeriesModel<?>) ? ((IndexedSeriesModel<?>)dataModel).size() : 0;
+   }
+
+   /**
+    * Gets the state indicating if the series has no data points.
+    *
+    * @return true if the series has no data points
+    */
+   public boolean isEmpty()
+   {
+      CartesianSeriesModel<T> dataModel = getDataModel();
+      if (dataModel == null)
+      {
+         return true;
+      }
+      if (dataModel instanceof IndexedSeriesModel<?>)
+      {
+         return ((IndexedSeriesModel<?>)dataModel).size() == 0;
+      }
+      return !dataModel.iterator().hasNext();
    }
 
    /**
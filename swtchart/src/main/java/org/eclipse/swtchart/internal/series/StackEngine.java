@@ -0,0 +1,769 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.series;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.swtchart.ISeries.SeriesType;
+import org.eclipse.swtchart.model.CartesianSeriesModel;
+import org.eclipse.swtchart.model.PrimitiveSeriesModel;
+
+/**
+ * Puts the stacked time series of one pair of axes on a combined time line and stacks the line series on it. The time stamps
+ * of all series are merged into one time line with a k-way merge, and the values of each series are linearly interpolated at
+ * the time stamps it does not have in a single pass. Values before the first or after the last point of a series are taken
+ * from that point.
+ * <p>
+ * The time line is sorted in the order of the first series with at least two points, descending if there is none. Series
+ * sorted the other way are traversed backwards. The data models of the series are left unchanged, the series get their values
+ * on the time line by {@link Series#setStackedSeries(double[], double[], int[], int, boolean)}.
+ * <p>
+ * The engine keeps the points, the time line and the stacks between updates in buffers which grow as needed. If the series
+ * only got points appended in the order of the time line, or removed from its start as by a ring buffer, the new points are
+ * written at the end of the buffers, the time line is extended by their time stamps and its start moves on to the first
+ * remaining point, and only the values and stacks at the affected time stamps are computed again. Models telling their removed
+ * items by {@link PrimitiveSeriesModel#getRemovedCount()} are checked by their size, other models by comparing their points
+ * with the kept ones. Time stamps of removed points stay on the time line while other series have points before them, where
+ * they only add interpolated values. If only the visibility of series changed, only the stacks above them are summed again.
+ * Invisible series are kept on the time line, so that their visibility does not move the time stamps. Any other change, or
+ * time stamps before the start taking up half of the time line, stacks all series again.
+ */
+class StackEngine
+{
+   /** the time stamps of the time line, of which the ones from start to end are in use */
+   private long[] timeline = new long[0];
+   /** the time line as X series */
+   private double[] xTimeline = new double[0];
+   /** the index of the first time stamp in use */
+   private int start;
+   /** the index after the last time stamp in use */
+   private int end;
+   /** the time stamps in use as X series passed to the series */
+   private double[] publishedTimeline;
+   /** the state indicating if the time line is sorted in ascending order */
+   private boolean ascending;
+   /** the stacked series in stacking order */
+   private List<Entry> entries = new ArrayList<Entry>();
+
+   /**
+    * Stacks the given series, extending the previous stacks where possible.
+    *
+    * @param stackedSeries the series to stack in stacking order
+    * @return the length of the time line
+    */
+   int update(List<Series<?>> stackedSeries)
+   {
+      int count = stackedSeries.size();
+      Source[] sources = new Source[count];
+      Boolean order = null;
+      for(int i = 0; i < count; i++)
+      {
+         Source source = new Source(stackedSeries.get(i));
+         sources[i] = source;
+         if (order == null && source.size >= 2 && source.getX(0) != source.getX(source.size - 1))
+         {
+            order = source.getX(0) < source.getX(source.size - 1);
+         }
+      }
+      boolean newAscending = (order != null) && order;
+      boolean full = (newAscending != ascending) || (count != entries.size()) || (start > end - start);
+      ascending = newAscending;
+
+      int oldStart = start;
+      int oldEnd = end;
+      if (full || !extend(sources))
+      {
+         full = true;
+         restack(sources);
+      }
+      stack(full);
+
+      boolean moved = full || start != oldStart || end != oldEnd;
+      if (moved || publishedTimeline == null)
+      {
+         publishedTimeline = Arrays.copyOfRange(xTimeline, start, end);
+      }
+      for(Entry entry : entries)
+      {
+         entry.publish(publishedTimeline, start, end, moved, full ? -1 : start - oldStart);
+      }
+      return end - start;
+   }
+
+   /**
+    * Stacks all series again, merging all their time stamps.
+    *
+    * @param sources the series to stack in stacking order
+    */
+   private void restack(Source[] sources)
+   {
+      int count = sources.length;
+      entries = new ArrayList<Entry>(count);
+      long[][] timestamps = new long[count][];
+      for(int i = 0; i < count; i++)
+      {
+         Entry entry = new Entry(sources[i], ascending);
+         entries.add(entry);
+         timestamps[i] = entry.timestamps;
+      }
+      timeline = merge(timestamps, ascending);
+      start = 0;
+      end = timeline.length;
+      xTimeline = new double[end];
+      for(int k = 0; k < end; k++)
+      {
+         xTimeline[k] = timeline[k];
+      }
+      for(Entry entry : entries)
+      {
+         entry.interpolate(timeline, end, ascending);
+      }
+   }
+
+   /**
+    * Extends the series and the time line by the appended points and moves the start of the time line past removed points.
+    *
+    * @param sources the series to stack in stacking order
+    * @return false if the series have to be stacked again
+    */
+   private boolean extend(Source[] sources)
+   {
+      for(int i = 0; i < sources.length; i++)
+      {
+         if (!entries.get(i).update(sources[i], ascending))
+         {
+            return false;
+         }
+      }
+      long[] extension = getExtension();
+      if (extension == null)
+      {
+         return false;
+      }
+      int oldEnd = end;
+      if (extension.length > 0)
+      {
+         timeline = grow(timeline, end + extension.length);
+         xTimeline = grow(xTimeline, end + extension.length);
+         for(long timestamp : extension)
+         {
+            timeline[end] = timestamp;
+            xTimeline[end] = timestamp;
+            end++;
+         }
+      }
+      // the time line starts at the first remaining point of any series
+      int newStart = end;
+      for(Entry entry : entries)
+      {
+         if (entry.first < entry.size)
+         {
+            int position = entry.first < entry.oldSize ? entry.positions[entry.first] : search(timeline, start, end, entry.timestamps[entry.first], ascending);
+            newStart = Math.min(newStart, position);
+         }
+      }
+      start = newStart;
+
+      // values on the time line from the first changed time stamp of each series
+      for(Entry entry : entries)
+      {
+         entry.interpolate(timeline, start, end, oldEnd, ascending);
+      }
+      return true;
+   }
+
+   /**
+    * Gets the time stamps appended after the end of the time line. Appended points within the time line must be at time stamps
+    * the time line already has.
+    *
+    * @return the appended time stamps in the order of the time line, or null if the series have to be stacked again
+    */
+   private long[] getExtension()
+   {
+      int count = entries.size();
+      long[][] tails = new long[count][];
+      for(int i = 0; i < count; i++)
+      {
+         Entry entry = entries.get(i);
+         int from = Math.max(entry.first, entry.oldSize);
+         while(from < entry.size && start < end && !precedes(timeline[end - 1], entry.timestamps[from], ascending))
+         {
+            if (search(timeline, start, end, entry.timestamps[from], ascending) < 0)
+            {
+               return null;
+            }
+            from++;
+         }
+         tails[i] = Arrays.copyOfRange(entry.timestamps, from, entry.size);
+      }
+      return merge(tails, ascending);
+   }
+
+   /**
+    * Sums up the values of the visible line series to stacks, separately for inverted and normal series. Only the stacks at the
+    * changed time stamps of the series below, or all stacks above series whose visibility changed, are summed again.
+    *
+    * @param full true if all series have been stacked again
+    */
+   private void stack(boolean full)
+   {
+      for(boolean inverted : new boolean[] { false, true })
+      {
+         double[] below = null;
+         int dirty = end;
+         int headEnd = start;
+         for(Entry entry : entries)
+         {
+            if (entry.inverted != inverted || entry.type != SeriesType.LINE)
+            {
+               continue;
+            }
+            if (entry.wasVisible != entry.visible)
+            {
+               dirty = start;
+            }
+            if (!entry.visible)
+            {
+               continue;
+            }
+            dirty = Math.min(dirty, entry.dirty);
+            headEnd = Math.max(headEnd, entry.headEnd);
+            boolean restacked = full || !entry.wasVisible || entry.stack == null;
+            if (restacked)
+            {
+               dirty = start;
+            }
+            entry.stack = grow(entry.stack, end);
+            entry.stackChanged = restacked || dirty < end || headEnd > start;
+            sum(entry.stack, below, entry.timelineValues, start, Math.min(headEnd, dirty));
+            sum(entry.stack, below, entry.timelineValues, dirty, end);
+            below = entry.stack;
+         }
+      }
+   }
+
+   /**
+    * Stores the sums of the values and the stack below in the given range.
+    */
+   private static void sum(double[] stack, double[] below, double[] values, int from, int to)
+   {
+      for(int k = from; k < to; k++)
+      {
+         stack[k] = below != null ? below[k] + values[k] : values[k];
+      }
+   }
+
+   /**
+    * Merges sorted time stamps into one time line without duplicates.
+    *
+    * @param timestamps the time stamps, each array sorted in the given order
+    * @param ascending true if sorted in ascending order
+    * @return the time line
+    */
+   static long[] merge(long[][] timestamps, boolean ascending)
+   {
+      int count = timestamps.length;
+      int[] cursors = new int[count];
+      int[] heap = new int[count];
+      int heapSize = 0;
+      long total = 0;
+      for(int i = 0; i < count; i++)
+      {
+         total += timestamps[i].length;
+         if (timestamps[i].length > 0)
+         {
+            heap[heapSize++] = i;
+         }
+      }
+      for(int i = heapSize / 2 - 1; i >= 0; i--)
+      {
+         siftDown(heap, heapSize, i, timestamps, cursors, ascending);
+      }
+      long[] timeline = new long[(int)total];
+      int size = 0;
+      while(heapSize > 0)
+      {
+         int top = heap[0];
+         long timestamp = timestamps[top][cursors[top]++];
+         if (size == 0 || timeline[size - 1] != timestamp)
+         {
+            timeline[size++] = timestamp;
+         }
+         if (cursors[top] == timestamps[top].length)
+         {
+            heap[0] = heap[--heapSize];
+         }
+         siftDown(heap, heapSize, 0, timestamps, cursors, ascending);
+      }
+      if (size == timeline.length)
+      {
+         return timeline;
+      }
+      long[] result = new long[size];
+      System.arraycopy(timeline, 0, result, 0, size);
+      return result;
+   }
+
+   /**
+    * Stores the values of a series at the time stamps of the time line in the given range.
+    *
+    * @param timeline the time line
+    * @param from the index of the first time stamp to store the value at
+    * @param to the index after the last time stamp to store the value at
+    * @param ascending true if the time line is sorted in ascending order
+    * @param x the time stamps of the series, sorted like the time line and contained in it
+    * @param y the values of the series
+    * @param first the index of the first point of the series
+    * @param next the index of the first point not before the time stamp at <code>from</code>
+    * @param size the index after the last point of the series
+    * @param positions the array to store the time line index of each point from <code>next</code> on in
+    * @param values the array to store the values in
+    */
+   private static void interpolate(long[] timeline, int from, int to, boolean ascending, long[] x, double[] y, int first, int next, int size, int[] positions, double[] values)
+   {
+      if (first == size)
+      {
+         Arrays.fill(values, from, to, 0);
+         return;
+      }
+      for(int k = from; k < to; k++)
+      {
+         long timestamp = timeline[k];
+         while(next < size && !precedes(timestamp, x[next], ascending))
+         {
+            positions[next] = k;
+            next++;
+         }
+         if (next == first)
+         {
+            values[k] = y[first];
+         }
+         else if (next == size || x[next - 1] == timestamp)
+         {
+            values[k] = y[next - 1];
+         }
+         else
+         {
+            // do linear interpolation for missed value
+            long lastTimestamp = x[next - 1];
+            values[k] = y[next - 1] + (y[next] - y[next - 1]) * ((double)(timestamp - lastTimestamp) / (double)(x[next] - lastTimestamp));
+         }
+      }
+   }
+
+   /**
+    * Searches a time stamp on the time line in the given range.
+    *
+    * @return the index of the time stamp, or a negative value if not found
+    */
+   private static int search(long[] timeline, int from, int to, long timestamp, boolean ascending)
+   {
+      int low = from;
+      int high = to - 1;
+      while(low <= high)
+      {
+         int middle = (low + high) >>> 1;
+         if (timeline[middle] == timestamp)
+         {
+            return middle;
+         }
+         if (precedes(timeline[middle], timestamp, ascending))
+         {
+            low = middle + 1;
+         }
+         else
+         {
+            high = middle - 1;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * Checks if the first time stamp comes before the second one on the time line.
+    */
+   private static boolean precedes(long a, long b, boolean ascending)
+   {
+      return ascending ? a < b : a > b;
+   }
+
+   /**
+    * Grows the given buffer to at least the given length, keeping its content.
+    */
+   private static long[] grow(long[] buffer, int length)
+   {
+      return buffer.length >= length ? buffer : Arrays.copyOf(buffer, Math.max(length, buffer.length + (buffer.length >> 1)));
+   }
+
+   /**
+    * Grows the given buffer to at least the given length, keeping its content.
+    */
+   private static double[] grow(double[] buffer, int length)
+   {
+      if (buffer == null)
+      {
+         return new double[length];
+      }
+      return buffer.length >= length ? buffer : Arrays.copyOf(buffer, Math.max(length, buffer.length + (buffer.length >> 1)));
+   }
+
+   /**
+    * Grows the given buffer to at least the given length, keeping its content.
+    */
+   private static int[] grow(int[] buffer, int length)
+   {
+      if (buffer == null)
+      {
+         return new int[length];
+      }
+      return buffer.length >= length ? buffer : Arrays.copyOf(buffer, Math.max(length, buffer.length + (buffer.length >> 1)));
+   }
+
+   /**
+    * Restores the heap order of the series by their current time stamps below the given heap position.
+    */
+   private static void siftDown(int[] heap, int heapSize, int position, long[][] timestamps, int[] cursors, boolean ascending)
+   {
+      while(true)
+      {
+         int child = 2 * position + 1;
+         if (child >= heapSize)
+         {
+            return;
+         }
+         if (child + 1 < heapSize && precedes(timestamps[heap[child + 1]][cursors[heap[child + 1]]], timestamps[heap[child]][cursors[heap[child]]], ascending))
+         {
+            child++;
+         }
+         if (!precedes(timestamps[heap[child]][cursors[heap[child]]], timestamps[heap[position]][cursors[heap[position]]], ascending))
+         {
+            return;
+         }
+         int tmp = heap[position];
+         heap[position] = heap[child];
+         heap[child] = tmp;
+         position = child;
+      }
+   }
+
+   /**
+    * The points of a stacked series, read from its data model without copying if the model provides primitive access.
+    */
+   private static class Source
+   {
+      /** the series */
+      final Series<?> series;
+      /** the data model with primitive access, or null */
+      final PrimitiveSeriesModel model;
+      /** the X series if the data model has no primitive access */
+      final double[] xSeries;
+      /** the Y series if the data model has no primitive access */
+      final double[] ySeries;
+      /** the number of points */
+      final int size;
+      /** the number of points removed from the start of the data model, or -1 if unknown */
+      final long removedCount;
+
+      /**
+       * Constructor.
+       *
+       * @param series the series
+       */
+      Source(Series<?> series)
+      {
+         this.series = series;
+         CartesianSeriesModel<?> dataModel = series.getDataModel();
+         if (dataModel instanceof PrimitiveSeriesModel)
+         {
+            model = (PrimitiveSeriesModel)dataModel;
+            xSeries = null;
+            ySeries = null;
+            size = model.size();
+            removedCount = model.getRemovedCount();
+         }
+         else
+         {
+            model = null;
+            xSeries = series.getXSeries();
+            ySeries = series.getYSeries();
+            size = Math.min(xSeries.length, ySeries.length);
+            removedCount = -1;
+         }
+      }
+
+      double getX(int index)
+      {
+         return model != null ? model.getXDouble(index) : xSeries[index];
+      }
+
+      double getY(int index)
+      {
+         return model != null ? model.getYDouble(index) : ySeries[index];
+      }
+   }
+
+   /**
+    * A stacked series with its points and its values on the time line. The points are kept in buffers in the order of the time
+    * line, of which the ones from first to size are in use.
+    */
+   private static class Entry
+   {
+      /** the series */
+      final Series<?> series;
+      /** the series type */
+      final SeriesType type;
+      /** the state indicating if the series is inverted */
+      final boolean inverted;
+      /** the state indicating if the data points are in reverse order of the time line */
+      final boolean reversed;
+      /** the state indicating if the series is visible */
+      boolean visible;
+      /** the state indicating if the series was visible in the previous update */
+      boolean wasVisible;
+      /** the data model the points were last read from, or null */
+      PrimitiveSeriesModel model;
+      /** the number of points removed from the start of the data model when last read, or -1 if unknown */
+      long removedCount;
+      /** the time stamps of the data points in the order of the time line */
+      long[] timestamps;
+      /** the values of the data points in the order of the time line */
+      double[] values;
+      /** the index of the first data point in use */
+      int first;
+      /** the index after the last data point in use */
+      int size;
+      /** the index of the first data point in use in the previous update */
+      int oldFirst;
+      /** the index after the last data point in use in the previous update */
+      int oldSize;
+      /** the time line index of each data point */
+      int[] positions;
+      /** the values on the time line */
+      double[] timelineValues;
+      /** the index of the first time stamp whose value changed after the first point */
+      int dirty;
+      /** the index after the last time stamp before the first point whose value changed */
+      int headEnd;
+      /** the state indicating if the values at the remaining time stamps are unchanged */
+      boolean extended;
+      /** the stack up to this series, or null if never stacked */
+      double[] stack;
+      /** the state indicating if the stack changed in the last update */
+      boolean stackChanged;
+
+      /**
+       * Constructor.
+       *
+       * @param source the points of the series
+       * @param ascending true if the time line is sorted in ascending order
+       */
+      Entry(Source source, boolean ascending)
+      {
+         series = source.series;
+         type = series.getType();
+         inverted = series.isInverted();
+         visible = series.isVisible();
+         wasVisible = visible;
+         size = source.size;
+         reversed = size >= 2 && (ascending ? source.getX(0) > source.getX(size - 1) : source.getX(0) < source.getX(size - 1));
+         timestamps = new long[size];
+         values = new double[size];
+         for(int j = 0; j < size; j++)
+         {
+            int index = reversed ? size - 1 - j : j;
+            timestamps[j] = (long)source.getX(index);
+            values[j] = source.getY(index);
+         }
+         model = source.model;
+         removedCount = source.removedCount;
+      }
+
+      /**
+       * Reads the points appended to the series and drops the points removed from it.
+       *
+       * @param source the points of the series
+       * @param ascending true if the time line is sorted in ascending order
+       * @return false if the points did not only change by appending and removing
+       */
+      boolean update(Source source, boolean ascending)
+      {
+         if (source.series != series || series.getType() != type || series.isInverted() != inverted)
+         {
+            return false;
+         }
+         wasVisible = visible;
+         visible = series.isVisible();
+         if (first > size - first)
+         {
+            compact();
+         }
+         oldFirst = first;
+         oldSize = size;
+         int live = size - first;
+         int sourceSize = source.size;
+         boolean sourceReversed = sourceSize >= 2 && (ascending ? source.getX(0) > source.getX(sourceSize - 1) : source.getX(0) < source.getX(sourceSize - 1));
+         if (sourceReversed != reversed)
+         {
+            return false;
+         }
+         int removed = 0;
+         if (source.model != null && source.model == model && source.removedCount >= 0 && removedCount >= 0)
+         {
+            long count = source.removedCount - removedCount;
+            if (count < 0 || count > live || sourceSize < live - count)
+            {
+               return false;
+            }
+            removed = (int)count;
+         }
+         else
+         {
+            if (sourceSize < live)
+            {
+               return false;
+            }
+            for(int j = 0; j < live; j++)
+            {
+               int index = reversed ? size - 1 - j : first + j;
+               if (timestamps[index] != (long)source.getX(j) || Double.compare(values[index], source.getY(j)) != 0)
+               {
+                  return false;
+               }
+            }
+         }
+         int appended = sourceSize - (live - removed);
+         // series in reverse order only stay unchanged, and a series losing all its points moves the whole time line
+         if (reversed && (removed > 0 || appended > 0) || removed > 0 && removed == live)
+         {
+            return false;
+         }
+         first += removed;
+         timestamps = grow(timestamps, size + appended);
+         values = grow(values, size + appended);
+         for(int i = sourceSize - appended; i < sourceSize; i++)
+         {
+            timestamps[size] = (long)source.getX(i);
+            values[size] = source.getY(i);
+            size++;
+         }
+         model = source.model;
+         removedCount = source.removedCount;
+         return true;
+      }
+
+      /**
+       * Moves the points in use to the start of the buffers.
+       */
+      private void compact()
+      {
+         int live = size - first;
+         System.arraycopy(timestamps, first, timestamps, 0, live);
+         System.arraycopy(values, first, values, 0, live);
+         System.arraycopy(positions, first, positions, 0, live);
+         first = 0;
+         size = live;
+      }
+
+      /**
+       * Stores the values on the whole time line.
+       *
+       * @param timeline the time line
+       * @param end the length of the time line
+       * @param ascending true if the time line is sorted in ascending order
+       */
+      void interpolate(long[] timeline, int end, boolean ascending)
+      {
+         positions = new int[size];
+         timelineValues = new double[end];
+         dirty = 0;
+         headEnd = 0;
+         extended = false;
+         StackEngine.interpolate(timeline, 0, end, ascending, timestamps, values, 0, 0, size, positions, timelineValues);
+      }
+
+      /**
+       * Updates the values on the time line from the first time stamp affected by the appended points, and before the first
+       * point if points were removed.
+       *
+       * @param timeline the time line
+       * @param start the index of the first time stamp in use
+       * @param end the index after the last time stamp in use
+       * @param oldEnd the index after the last time stamp in use in the previous update
+       * @param ascending true if the time line is sorted in ascending order
+       */
+      void interpolate(long[] timeline, int start, int end, int oldEnd, boolean ascending)
+      {
+         positions = grow(positions, size);
+         timelineValues = grow(timelineValues, end);
+         headEnd = start;
+         if (first == oldSize || first == size)
+         {
+            // there were no previous points, the values before were all zero
+            dirty = first == size ? oldEnd : start;
+            extended = first == size;
+            StackEngine.interpolate(timeline, dirty, end, ascending, timestamps, values, first, first, size, positions, timelineValues);
+            return;
+         }
+         if (size == oldSize)
+         {
+            // only the time line was extended, the new time stamps are after the last point
+            dirty = oldEnd;
+            StackEngine.interpolate(timeline, dirty, end, ascending, timestamps, values, first, size, size, positions, timelineValues);
+         }
+         else
+         {
+            // the values from the last previous point on follow the appended points
+            int last = oldSize - 1;
+            dirty = positions[last];
+            StackEngine.interpolate(timeline, dirty, end, ascending, timestamps, values, first, last, size, positions, timelineValues);
+         }
+         extended = dirty >= oldEnd - 1;
+         int position = positions[first];
+         if (first != oldFirst && position > start)
+         {
+            // the time stamps before the first remaining point take its value
+            Arrays.fill(timelineValues, start, position, values[first]);
+            headEnd = position;
+            extended = false;
+         }
+      }
+
+      /**
+       * Passes the changed values on the time line and the stack to the series.
+       *
+       * @param xTimeline the time stamps in use as X series
+       * @param start the index of the first time stamp in use
+       * @param end the index after the last time stamp in use
+       * @param moved true if the time stamps in use changed
+       * @param dropped the number of time stamps removed from the start, or -1 if stacked again
+       */
+      void publish(double[] xTimeline, int start, int end, boolean moved, int dropped)
+      {
+         if (moved || dirty < end || headEnd > start || first != oldFirst || size != oldSize)
+         {
+            int[] indexes = new int[size - first];
+            for(int j = 0; j < indexes.length; j++)
+            {
+               indexes[j] = positions[reversed ? size - 1 - j : first + j] - start;
+            }
+            series.setStackedSeries(xTimeline, Arrays.copyOfRange(timelineValues, start, end), indexes, dropped, extended);
+         }
+         if (visible && stack != null && (moved || stackChanged))
+         {
+            series.setStackSeries(Arrays.copyOfRange(stack, start, end));
+         }
+      }
+   }
+}
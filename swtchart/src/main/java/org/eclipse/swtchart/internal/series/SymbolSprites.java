@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.internal.series;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * A cache of symbols rendered once into images with transparency, which are stamped onto the plot area instead of drawing the
+ * symbol shapes at every point.
+ * <p>
+ * A symbol is rendered over a black and over a white background, and the transparency of each pixel is recovered from the
+ * difference, so that anti-aliased edges and colored glyphs keep their appearance. The least recently used images are disposed
+ * when the cache is full, as with many symbol colors.
+ */
+class SymbolSprites
+{
+   /** the maximum number of cached images */
+   private static final int MAX_SPRITES = 64;
+
+   /** the images by the symbol style they were rendered with */
+   private final Map<List<Object>, Image> sprites = new LinkedHashMap<List<Object>, Image>(16, 0.75f, true)
+   {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<List<Object>, Image> eldest)
+      {
+         if (size() > MAX_SPRITES)
+         {
+            eldest.getValue().dispose();
+            return true;
+         }
+         return false;
+      }
+   };
+
+   /**
+    * Gets the image of a symbol, rendering it if it is not cached.
+    *
+    * @param device the device
+    * @param key the symbol style, which identifies the image
+    * @param width the image width
+    * @param height the image height
+    * @param renderer the renderer drawing the symbol with the given graphics context
+    * @return the image, or null if symbols cannot be rendered into images
+    */
+   Image get(Device device, List<Object> key, int width, int height, Consumer<GC> renderer)
+   {
+      Image image = sprites.get(key);
+      if (image == null || image.isDisposed())
+      {
+         image = render(device, width, height, renderer);
+         sprites.put(key, image);
+      }
+      return image;
+   }
+
+   /**
+    * Gets the image of a symbol if it is cached.
+    *
+    * @param key the symbol style, which identifies the image
+    * @return the image, or null if it is not cached
+    */
+   Image find(List<Object> key)
+   {
+      Image image = sprites.get(key);
+      return image == null || image.isDisposed() ? null : image;
+   }
+
+   /**
+    * Disposes all cached images.
+    */
+   void clear()
+   {
+      for(Image image : sprites.values())
+      {
+         image.dispose();
+      }
+      sprites.clear();
+   }
+
+   /**
+    * Renders a symbol into an image with transparency.
+    */
+   private static Image render(Device device, int width, int height, Consumer<GC> renderer)
+   {
+      ImageData black = renderOver(device, width, height, 0, renderer);
+      ImageData white = renderOver(device, width, height, 255, renderer);
+      ImageData data = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+      data.alphaData = new byte[width * height];
+      for(int y = 0; y < height; y++)
+      {
+         for(int x = 0; x < width; x++)
+         {
+            RGB b = black.palette.getRGB(black.getPixel(x, y));
+            RGB w = white.palette.getRGB(white.getPixel(x, y));
+            // a pixel covered with alpha a is a * color over black and a * color + (1 - a) over white
+            int difference = (w.red - b.red + w.green - b.green + w.blue - b.blue) / 3;
+            int alpha = Math.max(0, Math.min(255, 255 - difference));
+            if (alpha > 0)
+            {
+               data.setPixel(x, y, data.palette.getPixel(new RGB(unmultiply(b.red, alpha), unmultiply(b.green, alpha), unmultiply(b.blue, alpha))));
+            }
+            data.alphaData[y * width + x] = (byte)alpha;
+         }
+      }
+      return new Image(device, data);
+   }
+
+   /**
+    * Renders a symbol over a gray background.
+    */
+   private static ImageData renderOver(Device device, int width, int height, int background, Consumer<GC> renderer)
+   {
+      Image image = new Image(device, width, height);
+      GC gc = new GC(image);
+      try
+      {
+         gc.setBackground(new Color(device, background, background, background));
+         gc.fillRectangle(0, 0, width, height);
+         renderer.accept(gc);
+      }
+      finally
+      {
+         gc.dispose();
+      }
+      ImageData data = image.getImageData();
+      image.dispose();
+      return data;
+   }
+
+   /**
+    * Gets the color channel value before it was multiplied with the given alpha value.
+    */
+   private static int unmultiply(int value, int alpha)
+   {
+      return Math.min(255, value * 255 / alpha);
+   }
+}
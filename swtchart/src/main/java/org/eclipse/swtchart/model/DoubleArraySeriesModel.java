@@ -20,7 +20,7 @@ import java.util.stream.IntStream;
  * @author Christoph Läubrich
  *
  */
-public class DoubleArraySeriesModel implements IndexedSeriesModel<Integer>, CartesianSeriesModel<Integer> {
+public class DoubleArraySeriesModel implements PrimitiveSeriesModel {
 
 	private final double[] xdata;
 	private final double[] ydata;
@@ -30,6 +30,8 @@ public class DoubleArraySeriesModel implements IndexedSeriesModel<Integer>, Cart
 	private final double minY;
 	private final double maxY;
 	private final double avgY;
+	private SortedXIndex sortedXIndex;
+	private MinMaxPyramid minMaxPyramid;
 
 	public DoubleArraySeriesModel(double[] xSeries, double[] ySeries) {
 		if(xSeries.length != ySeries.length) {
@@ -86,6 +88,39 @@ public class DoubleArraySeriesModel implements IndexedSeriesModel<Integer>, Cart
 		return isXMonotoneIncreasing;
 	}
 
+	@Override
+	public SortedXIndex getSortedXIndex() {
+
+		if(sortedXIndex == null) {
+			sortedXIndex = new SortedXIndex(xdata);
+		}
+		return sortedXIndex;
+	}
+
+	/**
+	 * Gets the min/max pyramid over the y data, which is built on first use.
+	 *
+	 * @return the min/max pyramid
+	 */
+	@Override
+	public MinMaxPyramid getMinMaxPyramid() {
+
+		if(minMaxPyramid == null) {
+			minMaxPyramid = new MinMaxPyramid(ydata);
+		}
+		return minMaxPyramid;
+	}
+
+	/**
+	 * Gets the number of removed items, which is 0 since the arrays are not
+	 * expected to change once given to the model.
+	 */
+	@Override
+	public long getRemovedCount() {
+
+		return 0;
+	}
+
 	@Override
 	public Iterator<Integer> iterator() {
 
@@ -126,6 +161,30 @@ public class DoubleArraySeriesModel implements IndexedSeriesModel<Integer>, Cart
 		}
 	}
 
+	@Override
+	public double getXDouble(int index) {
+
+		return xdata[index];
+	}
+
+	@Override
+	public double getYDouble(int index) {
+
+		return ydata[index];
+	}
+
+	@Override
+	public void copyX(double[] dst, int from, int to) {
+
+		System.arraycopy(xdata, from, dst, 0, to - from);
+	}
+
+	@Override
+	public void copyY(double[] dst, int from, int to) {
+
+		System.arraycopy(ydata, from, dst, 0, to - from);
+	}
+
 	@Override
 	public Number getMaxX() {
 
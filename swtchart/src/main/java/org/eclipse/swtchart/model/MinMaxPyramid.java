@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.model;
+
+/**
+ * A multi-resolution summary of a series of values. Level <code>k</code>
+ * divides the series into buckets of <code>2^k</code> consecutive items and
+ * stores the index of the minimum and the maximum value of each bucket. The
+ * first and last item of a bucket follow from its position, so a bucket
+ * provides first, last, min and max without touching the raw items.
+ * <p>
+ * Level 0 denotes the raw items and is not stored. All levels together take
+ * about two ints per item and are built in linear time.
+ */
+public class MinMaxPyramid {
+
+	/** the summarized values */
+	private final double[] values;
+	/** the indexes of the bucket minimums, per level starting at level 1 */
+	private final int[][] minIndexes;
+	/** the indexes of the bucket maximums, per level starting at level 1 */
+	private final int[][] maxIndexes;
+
+	/**
+	 * Constructor. The given array must not be modified afterwards.
+	 *
+	 * @param values
+	 *            the values to summarize
+	 */
+	public MinMaxPyramid(double[] values) {
+		this.values = values;
+		int levels = 0;
+		while((long)values.length > (1L << levels)) {
+			levels++;
+		}
+		minIndexes = new int[levels][];
+		maxIndexes = new int[levels][];
+		for(int level = 1; level <= levels; level++) {
+			int buckets = getBucketCount(level);
+			int[] min = new int[buckets];
+			int[] max = new int[buckets];
+			for(int bucket = 0; bucket < buckets; bucket++) {
+				int left = 2 * bucket;
+				int right = left + 1;
+				if(level == 1) {
+					if(right >= values.length) {
+						right = left;
+					}
+					min[bucket] = lower(left, right);
+					max[bucket] = higher(left, right);
+				} else {
+					int[] prevMin = minIndexes[level - 2];
+					int[] prevMax = maxIndexes[level - 2];
+					if(right >= prevMin.length) {
+						right = left;
+					}
+					min[bucket] = lower(prevMin[left], prevMin[right]);
+					max[bucket] = higher(prevMax[left], prevMax[right]);
+				}
+			}
+			minIndexes[level - 1] = min;
+			maxIndexes[level - 1] = max;
+		}
+	}
+
+	/**
+	 * Gets the number of summarized items.
+	 *
+	 * @return the number of items
+	 */
+	public int size() {
+
+		return values.length;
+	}
+
+	/**
+	 * Gets the highest level. Its single bucket covers all items.
+	 *
+	 * @return the highest level, 0 if there are less than two items
+	 */
+	public int getMaxLevel() {
+
+		return minIndexes.length;
+	}
+
+	/**
+	 * Gets the number of items per bucket at the given level.
+	 *
+	 * @param level
+	 *            the level
+	 * @return the bucket size
+	 */
+	public int getBucketSize(int level) {
+
+		return 1 << level;
+	}
+
+	/**
+	 * Gets the number of buckets at the given level.
+	 *
+	 * @param level
+	 *            the level
+	 * @return the number of buckets
+	 */
+	public int getBucketCount(int level) {
+
+		return (int)(((long)values.length + (1L << level) - 1) >> level);
+	}
+
+	/**
+	 * Gets the coarsest level which still divides the given number of items into
+	 * at least the given number of buckets.
+	 *
+	 * @param count
+	 *            the number of items
+	 * @param buckets
+	 *            the minimum number of buckets
+	 * @return the level, 0 if even level 1 has too few buckets
+	 */
+	public int getLevel(int count, long buckets) {
+
+		if(buckets <= 0) {
+			return getMaxLevel();
+		}
+		int level = 0;
+		while(level < getMaxLevel() && (count >> (level + 1)) >= buckets) {
+			level++;
+		}
+		return level;
+	}
+
+	/**
+	 * Gets the index of the minimum value in the given bucket.
+	 *
+	 * @param level
+	 *            the level
+	 * @param bucket
+	 *            the bucket
+	 * @return the item index
+	 */
+	public int getMinIndex(int level, int bucket) {
+
+		return level == 0 ? bucket : minIndexes[level - 1][bucket];
+	}
+
+	/**
+	 * Gets the index of the maximum value in the given bucket.
+	 *
+	 * @param level
+	 *            the level
+	 * @param bucket
+	 *            the bucket
+	 * @return the item index
+	 */
+	public int getMaxIndex(int level, int bucket) {
+
+		return level == 0 ? bucket : maxIndexes[level - 1][bucket];
+	}
+
+	/**
+	 * Gets the index of the first item in the given bucket.
+	 *
+	 * @param level
+	 *            the level
+	 * @param bucket
+	 *            the bucket
+	 * @return the item index
+	 */
+	public int getFirstIndex(int level, int bucket) {
+
+		return bucket << level;
+	}
+
+	/**
+	 * Gets the index of the last item in the given bucket.
+	 *
+	 * @param level
+	 *            the level
+	 * @param bucket
+	 *            the bucket
+	 * @return the item index
+	 */
+	public int getLastIndex(int level, int bucket) {
+
+		return (int)Math.min(values.length - 1L, (((long)bucket + 1) << level) - 1);
+	}
+
+	/**
+	 * Gets the index of the minimum value within the given index range. The
+	 * range is covered by at most two buckets per level, so the cost is
+	 * logarithmic in the range length.
+	 *
+	 * @param from
+	 *            the first index, inclusive
+	 * @param to
+	 *            the last index, exclusive, greater than <code>from</code>
+	 * @return the item index
+	 */
+	public int getRangeMinIndex(int from, int to) {
+
+		int result = from;
+		int index = from;
+		while(index < to) {
+			int level = getAlignedLevel(index, to);
+			result = lower(result, getMinIndex(level, index >> level));
+			index += 1 << level;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the index of the maximum value within the given index range.
+	 *
+	 * @param from
+	 *            the first index, inclusive
+	 * @param to
+	 *            the last index, exclusive, greater than <code>from</code>
+	 * @return the item index
+	 * @see #getRangeMinIndex(int, int)
+	 */
+	public int getRangeMaxIndex(int from, int to) {
+
+		int result = from;
+		int index = from;
+		while(index < to) {
+			int level = getAlignedLevel(index, to);
+			result = higher(result, getMaxIndex(level, index >> level));
+			index += 1 << level;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the highest level whose bucket starts at the given index and ends
+	 * before the given end.
+	 */
+	private int getAlignedLevel(int index, int to) {
+
+		int level = 0;
+		while(level < getMaxLevel() && (index & ((2 << level) - 1)) == 0 && (long)index + (2L << level) <= to) {
+			level++;
+		}
+		return level;
+	}
+
+	/**
+	 * Gets the index of the lower value, NaN being neither lower nor higher
+	 * than any other value.
+	 */
+	private int lower(int a, int b) {
+
+		return values[b] < values[a] || Double.isNaN(values[a]) ? b : a;
+	}
+
+	private int higher(int a, int b) {
+
+		return values[b] > values[a] || Double.isNaN(values[a]) ? b : a;
+	}
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 SWTChart project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * Raden Solutions - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swtchart.model;
+
+/**
+ * An indexed Cartesian series model that gives access to its coordinates as
+ * primitive values, so that consumers do not have to box every data point.
+ * All items of such a model denote valid data points.
+ */
+public interface PrimitiveSeriesModel extends IndexedSeriesModel<Integer>, CartesianSeriesModel<Integer> {
+
+	/**
+	 * Gets the x coordinate at the given index.
+	 *
+	 * @param index
+	 *            the index
+	 * @return the x coordinate
+	 * @throws IndexOutOfBoundsException
+	 *             if index &lt; 0 or &ge; {@link #size()}
+	 */
+	double getXDouble(int index);
+
+	/**
+	 * Gets the y coordinate at the given index.
+	 *
+	 * @param index
+	 *            the index
+	 * @return the y coordinate
+	 * @throws IndexOutOfBoundsException
+	 *             if index &lt; 0 or &ge; {@link #size()}
+	 */
+	double getYDouble(int index);
+
+	/**
+	 * Gets the index to find the items within an x window. The default
+	 * implementation detects the order of the x coordinates on every call,
+	 * implementations should cache the index or know their order in advance.
+	 *
+	 * @return the sorted x index
+	 */
+	default SortedXIndex getSortedXIndex() {
+
+		return new SortedXIndex(this);
+	}
+
+	/**
+	 * Gets the min/max pyramid over the y coordinates, which finds the minimum
+	 * and maximum within an index range in logarithmic time. The default
+	 * implementation builds the pyramid on every call, implementations should
+	 * cache it until their y coordinates change.
+	 *
+	 * @return the min/max pyramid
+	 */
+	default MinMaxPyramid getMinMaxPyramid() {
+
+		double[] ySeries = new double[size()];
+		copyY(ySeries, 0, ySeries.length);
+		return new MinMaxPyramid(ySeries);
+	}
+
+	/**
+	 * Gets the index of the minimum y coordinate within the given index range,
+	 * NaN being neither lower nor higher than any value. The default
+	 * implementation queries the min/max pyramid.
+	 *
+	 * @param from
+	 *            the first index, inclusive
+	 * @param to
+	 *            the last index, exclusive, greater than <code>from</code>
+	 * @return the index
+	 */
+	default int getRangeMinIndex(int from, int to) {
+
+		return getMinMaxPyramid().getRangeMinIndex(from, to);
+	}
+
+	/**
+	 * Gets the index of the maximum y coordinate within the given index range.
+	 *
+	 * @param from
+	 *            the first index, inclusive
+	 * @param to
+	 *            the last index, exclusive, greater than <code>from</code>
+	 * @return the index
+	 * @see #getRangeMinIndex(int, int)
+	 */
+	default int getRangeMaxIndex(int from, int to) {
+
+		return getMinMaxPyramid().getRangeMaxIndex(from, to);
+	}
+
+	/**
+	 * Gets the number of items removed from the start of this model since it
+	 * was created, for models whose items only change by appending items at
+	 * the end and removing items from the start. Consumers keeping a copy of
+	 * the items can tell the changes of such a model from this count and its
+	 * size, without comparing the items. The default implementation returns -1.
+	 *
+	 * @return the number of removed items, or -1 if the items may change otherwise
+	 */
+	default long getRemovedCount() {
+
+		return -1;
+	}
+
+	/**
+	 * Copies the x coordinates of the items from index <code>from</code>
+	 * (inclusive) to <code>to</code> (exclusive) into the given array, starting
+	 * at position 0.
+	 *
+	 * @param dst
+	 *            the destination array, at least <code>to - from</code> long
+	 * @param from
+	 *            the first index to copy
+	 * @param to
+	 *            the index after the last one to copy
+	 */
+	default void copyX(double[] dst, int from, int to) {
+
+		for(int i = from; i < to; i++) {
+			dst[i - from] = getXDouble(i);
+		}
+	}
+
+	/**
+	 * Copies the y coordinates of the items from index <code>from</code>
+	 * (inclusive) to <code>to</code> (exclusive) into the given array, starting
+	 * at position 0.
+	 *
+	 * @param dst
+	 *            the destination array, at least <code>to - from</code> long
+	 * @param from
+	 *            the first index to copy
+	 * @param to
+	 *            the index after the last one to copy
+	 */
+	default void copyY(double[] dst, int from, int to) {
+
+		for(int i = from; i < to; i++) {
+			dst[i - from] = getYDouble(i);
+		}
+	}
+}